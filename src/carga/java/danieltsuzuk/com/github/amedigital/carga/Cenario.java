@@ -0,0 +1,69 @@
+package danieltsuzuk.com.github.amedigital.carga;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Cenários do teste de carga, cada um com o peso de cada operação no tráfego gerado.
+ */
+public enum Cenario {
+
+    /**
+     * Tráfego dominado pela criação de planetas, em que cada criação consulta a API do Star Wars.
+     */
+    CRIACAO(Map.of(Operacao.CRIAR, 80, Operacao.BUSCAR_POR_ID, 10, Operacao.BUSCAR_POR_NOME, 10)),
+
+    /**
+     * Tráfego dominado pelas buscas e listagens, com poucas criações.
+     */
+    LEITURA(Map.of(Operacao.CRIAR, 2, Operacao.BUSCAR_POR_ID, 40, Operacao.BUSCAR_POR_NOME, 38,
+            Operacao.LISTAR, 20)),
+
+    /**
+     * Tráfego com todas as operações, incluindo a remoção dos planetas criados durante o teste.
+     */
+    MISTO(Map.of(Operacao.CRIAR, 30, Operacao.BUSCAR_POR_ID, 25, Operacao.BUSCAR_POR_NOME, 25,
+            Operacao.LISTAR, 15, Operacao.DELETAR, 5));
+
+    private final Operacao[] operacoes;
+    private final int[] pesosAcumulados;
+
+    Cenario(Map<Operacao, Integer> pesos) {
+        Map<Operacao, Integer> ordenados = new EnumMap<>(pesos);
+        this.operacoes = ordenados.keySet().toArray(Operacao[]::new);
+        this.pesosAcumulados = new int[operacoes.length];
+        int total = 0;
+        for (int i = 0; i < operacoes.length; i++) {
+            total += ordenados.get(operacoes[i]);
+            pesosAcumulados[i] = total;
+        }
+    }
+
+    /**
+     * Sorteia a próxima operação de acordo com os pesos do cenário.
+     *
+     * @param aleatorio o gerador de números aleatórios da thread
+     * @return a operação sorteada
+     */
+    public Operacao sortear(Random aleatorio) {
+        int valor = aleatorio.nextInt(pesosAcumulados[pesosAcumulados.length - 1]);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (valor < pesosAcumulados[i])
+                return operacoes[i];
+        }
+        return operacoes[operacoes.length - 1];
+    }
+
+    /**
+     * Converte o nome informado na configuração do teste, sem diferenciar maiúsculas e minúsculas.
+     *
+     * @param nome o nome do cenário
+     * @return o cenário correspondente
+     * @throws IllegalArgumentException se não houver cenário com o nome
+     */
+    public static Cenario porNome(String nome) {
+        return valueOf(nome.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,189 @@
+package danieltsuzuk.com.github.amedigital.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cliente HTTP do PlanetaController usado pelo teste de carga, com a massa de planetas usada nas requisições.
+ * <p>
+ * As buscas usam os planetas cadastrados na preparação, que nunca são removidos, e as remoções usam apenas os
+ * planetas criados durante o teste, para que uma busca não encontre um planeta removido por outra thread. Os nomes
+ * criados levam um identificador da execução, para não colidir com os de execuções anteriores no mesmo banco.
+ * </p>
+ */
+public final class ClienteDeCarga {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final int TAMANHO_LOTE = 100;
+    private static final int PAGINAS_LISTADAS = 10;
+
+    private final HttpClient http;
+    private final String url;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String execucao = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequencia = new AtomicLong();
+    private final List<Long> ids = new ArrayList<>();
+    private final List<String> nomes = new ArrayList<>();
+    private final ConcurrentLinkedDeque<Long> criados = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Resultado de uma requisição.
+     *
+     * @param operacao a operação executada, que pode ser diferente da sorteada
+     * @param sucesso  se a resposta teve o status esperado
+     */
+    public record Resposta(Operacao operacao, boolean sucesso) {
+    }
+
+    /**
+     * @param url a URL base da aplicação, como http://localhost:8080
+     */
+    public ClienteDeCarga(String url) {
+        this.url = url.endsWith("/") ? url + "planetas" : url + "/planetas";
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    /**
+     * Cadastra os planetas da API simulada e mais a quantidade informada de planetas gerados, em lotes, e guarda os
+     * IDs e os nomes para as buscas. Os planetas da API simulada que já existirem no banco só entram nas buscas por
+     * nome. Se a aplicação não tiver o endpoint de lote, como no perfil reativo, os planetas são criados um a um.
+     *
+     * @param massa      os planetas da API simulada
+     * @param quantidade a quantidade de planetas gerados
+     * @throws IOException          se a aplicação não responder
+     * @throws InterruptedException se a thread for interrompida
+     */
+    public void preparar(List<SwapiSimulada.PlanetaSwapi> massa, int quantidade) throws IOException, InterruptedException {
+        List<Map<String, String>> planetas = new ArrayList<>();
+        for (SwapiSimulada.PlanetaSwapi planeta : massa) {
+            planetas.add(Map.of("nome", planeta.name(), "clima", planeta.climate(), "terreno", planeta.terrain()));
+            nomes.add(planeta.name());
+        }
+        for (int i = 1; i <= quantidade; i++)
+            planetas.add(planeta(String.format("Planeta %s %05d", execucao, i)));
+
+        for (int inicio = 0; inicio < planetas.size(); inicio += TAMANHO_LOTE) {
+            List<Map<String, String>> lote = planetas.subList(inicio, Math.min(inicio + TAMANHO_LOTE, planetas.size()));
+            HttpResponse<String> resposta = enviar(HttpRequest.newBuilder(URI.create(url + "/batch"))
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(lote))));
+            if (resposta.statusCode() == 404 || resposta.statusCode() == 405) {
+                cadastrarUmAUm(lote, inicio, massa.size());
+                continue;
+            }
+            if (resposta.statusCode() != 201 && resposta.statusCode() != 207)
+                throw new IOException("Falha ao cadastrar os planetas: status " + resposta.statusCode());
+
+            for (JsonNode item : objectMapper.readTree(resposta.body()).path("itens")) {
+                if (!item.path("criado").asBoolean())
+                    continue;
+                ids.add(item.path("planeta").path("id").asLong());
+                if (item.path("indice").asInt() + inicio >= massa.size())
+                    nomes.add(item.path("planeta").path("nome").asText());
+            }
+        }
+        if (ids.isEmpty())
+            throw new IOException("Nenhum planeta foi cadastrado na preparacao");
+    }
+
+    private void cadastrarUmAUm(List<Map<String, String>> lote, int inicio, int tamanhoMassa) throws IOException {
+        // as criações do lote são enviadas juntas, para que a latência da API do Star Wars não se acumule
+        List<CompletableFuture<HttpResponse<String>>> respostas = new ArrayList<>();
+        for (Map<String, String> planeta : lote) {
+            respostas.add(http.sendAsync(HttpRequest.newBuilder(URI.create(url))
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(planeta)))
+                    .timeout(TIMEOUT).header("Content-Type", "application/json").build(),
+                    HttpResponse.BodyHandlers.ofString()));
+        }
+        for (int i = 0; i < respostas.size(); i++) {
+            HttpResponse<String> resposta = respostas.get(i).join();
+            if (resposta.statusCode() != 201)
+                continue;
+            JsonNode planeta = objectMapper.readTree(resposta.body());
+            ids.add(planeta.path("id").asLong());
+            if (inicio + i >= tamanhoMassa)
+                nomes.add(planeta.path("nome").asText());
+        }
+    }
+
+    /**
+     * Executa a operação com parâmetros sorteados. Sem planetas criados durante o teste para remover, a remoção é
+     * substituída por uma criação.
+     *
+     * @param operacao  a operação sorteada
+     * @param aleatorio o gerador de números aleatórios da thread
+     * @return a operação executada e se ela teve sucesso
+     * @throws InterruptedException se a thread for interrompida
+     */
+    public Resposta executar(Operacao operacao, Random aleatorio) throws InterruptedException {
+        try {
+            return switch (operacao) {
+                case CRIAR -> criar();
+                case BUSCAR_POR_ID -> new Resposta(operacao, buscar(Long.toString(ids.get(aleatorio.nextInt(ids.size())))));
+                case BUSCAR_POR_NOME -> new Resposta(operacao, buscar(emCaminho(nomes.get(aleatorio.nextInt(nomes.size())))));
+                case LISTAR -> new Resposta(operacao, listar(aleatorio.nextInt(PAGINAS_LISTADAS)));
+                case DELETAR -> deletar();
+            };
+        } catch (IOException e) {
+            return new Resposta(operacao, false);
+        }
+    }
+
+    private Resposta criar() throws IOException, InterruptedException {
+        String nome = "Carga " + execucao + " " + sequencia.incrementAndGet();
+        HttpResponse<String> resposta = enviar(HttpRequest.newBuilder(URI.create(url))
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(planeta(nome)))));
+        if (resposta.statusCode() != 201)
+            return new Resposta(Operacao.CRIAR, false);
+        criados.add(objectMapper.readTree(resposta.body()).path("id").asLong());
+        return new Resposta(Operacao.CRIAR, true);
+    }
+
+    private boolean buscar(String variavel) throws IOException, InterruptedException {
+        return enviar(HttpRequest.newBuilder(URI.create(url + "/" + variavel)).GET()).statusCode() == 200;
+    }
+
+    private boolean listar(int pagina) throws IOException, InterruptedException {
+        return enviar(HttpRequest.newBuilder(URI.create(url + "?page=" + pagina + "&size=20&sort=nome")).GET())
+                .statusCode() == 200;
+    }
+
+    private Resposta deletar() throws IOException, InterruptedException {
+        Long id = criados.pollFirst();
+        if (id == null)
+            return criar();
+        return new Resposta(Operacao.DELETAR,
+                enviar(HttpRequest.newBuilder(URI.create(url + "/" + id)).DELETE()).statusCode() == 204);
+    }
+
+    private HttpResponse<String> enviar(HttpRequest.Builder requisicao) throws IOException, InterruptedException {
+        return http.send(requisicao.timeout(TIMEOUT).header("Content-Type", "application/json").build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Map<String, String> planeta(String nome) {
+        return Map.of("nome", nome, "clima", "temperado", "terreno", "montanhoso");
+    }
+
+    private static String emCaminho(String nome) {
+        return URLEncoder.encode(nome, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,122 @@
+package danieltsuzuk.com.github.amedigital.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências e erros de cada operação em uma execução de um cenário.
+ * <p>
+ * As latências são gravadas em microssegundos em um histograma HdrHistogram por operação, com 3 dígitos
+ * significativos, e os percentis são calculados sobre todas as requisições, sem amostragem.
+ * </p>
+ */
+public final class Medicoes {
+
+    private static final int DIGITOS_SIGNIFICATIVOS = 3;
+    private static final String CABECALHO_CSV = "cenario,endpoint,requisicoes,erros,vazao_rps,p50_ms,p99_ms,p999_ms,max_ms";
+
+    private final Map<Operacao, Histogram> latencias = new EnumMap<>(Operacao.class);
+    private final Map<Operacao, LongAdder> erros = new EnumMap<>(Operacao.class);
+
+    public Medicoes() {
+        for (Operacao operacao : Operacao.values()) {
+            latencias.put(operacao, new ConcurrentHistogram(DIGITOS_SIGNIFICATIVOS));
+            erros.put(operacao, new LongAdder());
+        }
+    }
+
+    /**
+     * Registra uma requisição.
+     *
+     * @param operacao       a operação executada
+     * @param latenciaEmNano a latência, medida a partir do instante em que a requisição deveria ter sido enviada
+     * @param sucesso        se a resposta teve o status esperado
+     */
+    public void registrar(Operacao operacao, long latenciaEmNano, boolean sucesso) {
+        latencias.get(operacao).recordValue(Math.max(1, latenciaEmNano / 1_000));
+        if (!sucesso)
+            erros.get(operacao).increment();
+    }
+
+    /**
+     * Imprime a tabela com a vazão e os percentis de latência de cada operação e do total.
+     *
+     * @param cenario o cenário executado
+     * @param duracao a duração da medição
+     * @param saida   onde imprimir
+     */
+    public void imprimir(Cenario cenario, Duration duracao, PrintStream saida) {
+        saida.printf(Locale.ROOT, "%nCenario %s (%.1f s)%n", cenario, duracao.toMillis() / 1000.0);
+        saida.printf(Locale.ROOT, "%-24s %10s %8s %10s %10s %10s %10s %10s%n", "endpoint", "requisicoes", "erros",
+                "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        linhas(duracao).forEach((endpoint, linha) -> saida.printf(Locale.ROOT,
+                "%-24s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", endpoint, linha.requisicoes(), linha.erros(),
+                linha.vazao(), linha.p50(), linha.p99(), linha.p999(), linha.maximo()));
+    }
+
+    /**
+     * Acrescenta as linhas desta execução ao arquivo CSV, criando-o com o cabeçalho se ele não existir.
+     *
+     * @param cenario o cenário executado
+     * @param duracao a duração da medição
+     * @param arquivo o arquivo CSV
+     * @throws IOException se o arquivo não puder ser gravado
+     */
+    public void gravarCsv(Cenario cenario, Duration duracao, Path arquivo) throws IOException {
+        boolean novo = Files.notExists(arquivo);
+        try (Writer saida = Files.newBufferedWriter(arquivo, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            if (novo)
+                saida.write(CABECALHO_CSV + "\n");
+            for (Map.Entry<String, Linha> entrada : linhas(duracao).entrySet()) {
+                Linha linha = entrada.getValue();
+                saida.write(String.format(Locale.ROOT, "%s,%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f%n", cenario,
+                        entrada.getKey(), linha.requisicoes(), linha.erros(), linha.vazao(), linha.p50(),
+                        linha.p99(), linha.p999(), linha.maximo()));
+            }
+        }
+    }
+
+    private Map<String, Linha> linhas(Duration duracao) {
+        Map<String, Linha> linhas = new LinkedHashMap<>();
+        Histogram total = new Histogram(DIGITOS_SIGNIFICATIVOS);
+        long errosTotal = 0;
+        double segundos = duracao.toNanos() / 1e9;
+        for (Operacao operacao : Operacao.values()) {
+            Histogram histograma = latencias.get(operacao).copy();
+            if (histograma.getTotalCount() == 0)
+                continue;
+            total.add(histograma);
+            errosTotal += erros.get(operacao).sum();
+            linhas.put(operacao.getEndpoint(), Linha.de(histograma, erros.get(operacao).sum(), segundos));
+        }
+        linhas.put("total", Linha.de(total, errosTotal, segundos));
+        return linhas;
+    }
+
+    private record Linha(long requisicoes, long erros, double vazao, double p50, double p99, double p999,
+                         double maximo) {
+
+        static Linha de(Histogram histograma, long erros, double segundos) {
+            return new Linha(histograma.getTotalCount(), erros, histograma.getTotalCount() / segundos,
+                    emMs(histograma.getValueAtPercentile(50)), emMs(histograma.getValueAtPercentile(99)),
+                    emMs(histograma.getValueAtPercentile(99.9)), emMs(histograma.getMaxValue()));
+        }
+
+        private static double emMs(long microssegundos) {
+            return microssegundos / 1_000.0;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package danieltsuzuk.com.github.amedigital.carga;
+
+/**
+ * Requisições feitas ao PlanetaController durante o teste de carga, com o endpoint usado no relatório.
+ */
+public enum Operacao {
+
+    CRIAR("POST /planetas"),
+    BUSCAR_POR_ID("GET /planetas/{id}"),
+    BUSCAR_POR_NOME("GET /planetas/{nome}"),
+    LISTAR("GET /planetas?page="),
+    DELETAR("DELETE /planetas/{id}");
+
+    private final String endpoint;
+
+    Operacao(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+}
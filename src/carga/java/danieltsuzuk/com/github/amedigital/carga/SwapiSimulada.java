@@ -0,0 +1,191 @@
+package danieltsuzuk.com.github.amedigital.carga;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * API do Star Wars simulada com o servidor HTTP do JDK, a partir de uma massa de planetas fixa.
+ * <p>
+ * Responde a /api/planets/?search= com os planetas da massa cujo nome contém o texto buscado, sem diferenciar
+ * maiúsculas e minúsculas, no mesmo formato da API real. Antes de cada resposta é aplicada a latência configurada,
+ * variando de forma uniforme até a variação configurada para mais ou para menos, e uma fração das requisições
+ * recebe o status 500, para simular as falhas da API real.
+ * </p>
+ */
+public final class SwapiSimulada implements AutoCloseable {
+
+    private static final String MASSA = "/swapi/planetas.json";
+    private static final String URL_FILMES = "https://swapi.dev/api/films/";
+
+    private final HttpServer servidor;
+    private final ExecutorService threads;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<PlanetaSwapi> planetas;
+    private final Configuracao configuracao;
+    private final AtomicLong requisicoes = new AtomicLong();
+    private final AtomicLong erros = new AtomicLong();
+
+    static {
+        // sem o TCP_NODELAY, o cabeçalho e o corpo enviados separadamente esperam o ACK atrasado do cliente
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    /**
+     * Porta, latência e falhas da API simulada.
+     *
+     * @param porta        a porta do servidor, ou 0 para usar uma porta livre
+     * @param latenciaEmMs a latência média de cada resposta, em milissegundos
+     * @param variacaoEmMs a variação máxima da latência, para mais ou para menos, em milissegundos
+     * @param taxaErros    a fração das requisições respondidas com o status 500, entre 0 e 1
+     */
+    public record Configuracao(int porta, long latenciaEmMs, long variacaoEmMs, double taxaErros) {
+    }
+
+    /**
+     * Planeta da massa de dados, com os números dos filmes em que aparece.
+     */
+    public record PlanetaSwapi(String name, String climate, String terrain, List<Integer> films) {
+    }
+
+    private SwapiSimulada(Configuracao configuracao) throws IOException {
+        this.configuracao = configuracao;
+        try (InputStream massa = SwapiSimulada.class.getResourceAsStream(MASSA)) {
+            if (massa == null)
+                throw new IOException("Massa de planetas nao encontrada: " + MASSA);
+            this.planetas = List.copyOf(objectMapper.readValue(massa, new TypeReference<List<PlanetaSwapi>>() {
+            }));
+        }
+        this.servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", configuracao.porta()), 0);
+        this.threads = Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "swapi-simulada");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.servidor.createContext("/api/planets/", this::responder);
+        this.servidor.setExecutor(threads);
+    }
+
+    /**
+     * Inicia a API simulada.
+     *
+     * @param configuracao a porta, a latência e as falhas da API
+     * @return a API simulada, já aceitando conexões
+     * @throws IOException se a massa não puder ser lida ou o servidor não puder ser iniciado
+     */
+    public static SwapiSimulada iniciar(Configuracao configuracao) throws IOException {
+        SwapiSimulada swapi = new SwapiSimulada(configuracao);
+        swapi.servidor.start();
+        return swapi;
+    }
+
+    /**
+     * @return a URL base da API simulada, no formato da propriedade swapi.url
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort() + "/api/";
+    }
+
+    /**
+     * @return os planetas da massa de dados
+     */
+    public List<PlanetaSwapi> getPlanetas() {
+        return planetas;
+    }
+
+    public long getRequisicoes() {
+        return requisicoes.get();
+    }
+
+    public long getErros() {
+        return erros.get();
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        threads.shutdownNow();
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        try (troca) {
+            requisicoes.incrementAndGet();
+            esperar();
+            if (ThreadLocalRandom.current().nextDouble() < configuracao.taxaErros()) {
+                erros.incrementAndGet();
+                enviar(troca, 500, "{\"detail\":\"Erro simulado\"}");
+                return;
+            }
+            enviar(troca, 200, corpo(parametroBusca(troca.getRequestURI().getRawQuery())));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void esperar() throws InterruptedException {
+        long variacao = configuracao.variacaoEmMs();
+        long espera = configuracao.latenciaEmMs()
+                + (variacao > 0 ? ThreadLocalRandom.current().nextLong(-variacao, variacao + 1) : 0);
+        if (espera > 0)
+            Thread.sleep(espera);
+    }
+
+    private static void enviar(HttpExchange troca, int status, String corpo) throws IOException {
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", "application/json");
+        troca.sendResponseHeaders(status, bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+
+    private static String parametroBusca(String consulta) {
+        if (consulta != null) {
+            for (String parametro : consulta.split("&")) {
+                if (parametro.startsWith("search="))
+                    return URLDecoder.decode(parametro.substring("search=".length()), StandardCharsets.UTF_8);
+            }
+        }
+        return "";
+    }
+
+    private String corpo(String busca) throws IOException {
+        String texto = busca.toLowerCase(Locale.ROOT);
+        List<Map<String, Object>> resultados = planetas.stream()
+                .filter(planeta -> planeta.name().toLowerCase(Locale.ROOT).contains(texto))
+                .map(SwapiSimulada::resultado)
+                .toList();
+
+        Map<String, Object> pagina = new LinkedHashMap<>();
+        pagina.put("count", resultados.size());
+        pagina.put("next", null);
+        pagina.put("previous", null);
+        pagina.put("results", resultados);
+        return objectMapper.writeValueAsString(pagina);
+    }
+
+    private static Map<String, Object> resultado(PlanetaSwapi planeta) {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("name", planeta.name());
+        resultado.put("climate", planeta.climate());
+        resultado.put("terrain", planeta.terrain());
+        resultado.put("films", planeta.films().stream().map(filme -> URL_FILMES + filme + "/").toList());
+        return resultado;
+    }
+}
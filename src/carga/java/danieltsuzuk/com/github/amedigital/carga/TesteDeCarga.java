@@ -0,0 +1,203 @@
+package danieltsuzuk.com.github.amedigital.carga;
+
+import danieltsuzuk.com.github.amedigital.AmeDigitalApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.ClassUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Teste de carga do PlanetaController, sem acesso à rede.
+ * <p>
+ * Inicia a {@link SwapiSimulada} e a aplicação com o servidor web em uma porta livre e o banco H2 em memória,
+ * cadastra a massa de planetas e executa cada cenário, primeiro em um aquecimento descartado e depois na medição.
+ * Com a propriedade carga.url, o teste usa uma aplicação já iniciada, que deve estar configurada com
+ * swapi.url=http://127.0.0.1:{carga.swapi.porta}/api/. Ao fim de cada cenário são impressos a vazão e os percentis
+ * 50, 99 e 99,9 da latência de cada endpoint, também gravados em CSV.
+ * </p>
+ * <p>
+ * Com carga.taxa maior que zero, as requisições são agendadas em intervalos fixos e a latência é medida a partir do
+ * instante agendado, e não do envio, para que a espera por uma thread livre quando a aplicação fica lenta entre na
+ * latência em vez de reduzir a carga. Com carga.taxa igual a zero, cada usuário envia a próxima requisição assim que
+ * recebe a resposta da anterior, medindo a vazão máxima.
+ * </p>
+ * <p>
+ * Com carga.perfis, a aplicação é iniciada com os perfis do Spring informados, separados por vírgula, para comparar
+ * as pilhas com a mesma carga. No perfil reativo, o banco H2 é acessado pelo R2DBC e o esquema é criado pelo script
+ * reativo/schema-h2.sql, já que o Hibernate fica desligado. O perfil threads-virtuais exige Java 21 ou superior, pois
+ * em versões anteriores o Spring Boot ignora a propriedade e a medição seria feita com threads de plataforma.
+ * </p>
+ * <p>
+ * Propriedades, passadas com -D: carga.url, carga.perfis, carga.cenarios (criacao, leitura e misto, separados por
+ * vírgula), carga.aquecimento, carga.duracao, carga.usuarios, carga.taxa (requisições por segundo), carga.planetas,
+ * carga.resultado, carga.swapi.porta, carga.swapi.latencia-ms, carga.swapi.variacao-ms e carga.swapi.taxa-erros.
+ * </p>
+ */
+public final class TesteDeCarga {
+
+    private TesteDeCarga() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = System.getProperty("carga.url", "");
+        String perfis = System.getProperty("carga.perfis", "");
+        List<Cenario> cenarios = new ArrayList<>();
+        for (String nome : System.getProperty("carga.cenarios", "criacao,leitura,misto").split(","))
+            cenarios.add(Cenario.porNome(nome));
+        Duration aquecimento = Duration.parse(System.getProperty("carga.aquecimento", "PT10S"));
+        Duration duracao = Duration.parse(System.getProperty("carga.duracao", "PT30S"));
+        int usuarios = Integer.getInteger("carga.usuarios", 64);
+        double taxa = Double.parseDouble(System.getProperty("carga.taxa", "200"));
+        int planetas = Integer.getInteger("carga.planetas", 1000);
+        Path resultado = Path.of(System.getProperty("carga.resultado", "target/carga-resultado.csv"));
+        SwapiSimulada.Configuracao configuracaoSwapi = new SwapiSimulada.Configuracao(
+                Integer.getInteger("carga.swapi.porta", 0),
+                Long.getLong("carga.swapi.latencia-ms", 50),
+                Long.getLong("carga.swapi.variacao-ms", 20),
+                Double.parseDouble(System.getProperty("carga.swapi.taxa-erros", "0.01")));
+
+        try (SwapiSimulada swapi = SwapiSimulada.iniciar(configuracaoSwapi)) {
+            System.out.println("API do Star Wars simulada em " + swapi.getUrl());
+            ConfigurableApplicationContext aplicacao = url.isBlank() ? iniciarAplicacao(swapi.getUrl(), perfis) : null;
+            try {
+                if (aplicacao != null)
+                    url = "http://127.0.0.1:" + aplicacao.getEnvironment().getProperty("local.server.port");
+                ClienteDeCarga cliente = new ClienteDeCarga(url);
+                cliente.preparar(swapi.getPlanetas(), planetas);
+
+                if (resultado.getParent() != null)
+                    Files.createDirectories(resultado.getParent());
+                Files.deleteIfExists(resultado);
+                for (Cenario cenario : cenarios) {
+                    executar(cliente, cenario, aquecimento, usuarios, taxa, new Medicoes());
+                    Medicoes medicoes = new Medicoes();
+                    Duration decorrido = executar(cliente, cenario, duracao, usuarios, taxa, medicoes);
+                    medicoes.imprimir(cenario, decorrido, System.out);
+                    medicoes.gravarCsv(cenario, decorrido, resultado);
+                }
+                System.out.printf("%nAPI do Star Wars simulada: %d requisicoes, %d erros injetados%n",
+                        swapi.getRequisicoes(), swapi.getErros());
+                System.out.println("Resultado gravado em " + resultado.toAbsolutePath());
+            } finally {
+                if (aplicacao != null)
+                    aplicacao.close();
+            }
+        }
+    }
+
+    /**
+     * Executa um cenário pela duração informada e aguarda as requisições em andamento.
+     *
+     * @return o tempo decorrido entre o início e a última resposta
+     */
+    private static Duration executar(ClienteDeCarga cliente, Cenario cenario, Duration duracao, int usuarios,
+                                     double taxa, Medicoes medicoes) throws InterruptedException {
+        long inicio = System.nanoTime();
+        long fim = inicio + duracao.toNanos();
+        long intervalo = taxa > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / taxa) : 0;
+        AtomicLong agendadas = new AtomicLong();
+
+        ExecutorService threads = Executors.newFixedThreadPool(usuarios);
+        for (int i = 0; i < usuarios; i++) {
+            threads.execute(() -> {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                try {
+                    while (true) {
+                        long agendada = intervalo > 0 ? inicio + agendadas.getAndIncrement() * intervalo : System.nanoTime();
+                        if (agendada >= fim)
+                            return;
+                        esperarAte(agendada);
+                        ClienteDeCarga.Resposta resposta = cliente.executar(cenario.sortear(aleatorio), aleatorio);
+                        medicoes.registrar(resposta.operacao(), System.nanoTime() - agendada, resposta.sucesso());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        threads.shutdown();
+        if (!threads.awaitTermination(duracao.toSeconds() + 60, TimeUnit.SECONDS))
+            threads.shutdownNow();
+        return Duration.ofNanos(System.nanoTime() - inicio);
+    }
+
+    private static void esperarAte(long instante) {
+        long espera;
+        while ((espera = instante - System.nanoTime()) > 0)
+            LockSupport.parkNanos(espera);
+    }
+
+    /**
+     * Inicia a aplicação com os perfis informados e o banco H2 em memória. Fora do perfil reativo, o esquema é criado
+     * pelo Hibernate, já que as migrações do Flyway usam recursos exclusivos do PostgreSQL; no perfil reativo, pelo
+     * script reativo/schema-h2.sql.
+     *
+     * @throws IllegalStateException se o perfil threads-virtuais for pedido em uma versão do Java anterior à 21, ou
+     *                               se o perfil reativo for pedido com o Tomcat no classpath
+     */
+    private static ConfigurableApplicationContext iniciarAplicacao(String swapiUrl, String perfis) {
+        List<String> ativos = new ArrayList<>();
+        for (String perfil : perfis.split(",")) {
+            if (!perfil.isBlank())
+                ativos.add(perfil.trim());
+        }
+        if (ativos.contains("threads-virtuais") && Runtime.version().feature() < 21)
+            throw new IllegalStateException("O perfil threads-virtuais requer Java 21 ou superior, mas a versao atual e "
+                    + Runtime.version().feature());
+        // com o Tomcat no classpath, o Spring Boot o prefere ao Netty também para o WebFlux
+        if (ativos.contains("reativo") && ClassUtils.isPresent("org.apache.catalina.startup.Tomcat", null))
+            throw new IllegalStateException("O perfil reativo deve rodar sobre o Netty: compile e execute com -Dreativo, "
+                    + "sem o Tomcat no classpath");
+
+        String banco = UUID.randomUUID().toString();
+        // como argumentos de linha de comando, as propriedades têm precedência sobre o application.properties
+        List<String> argumentos = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.flyway.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.orm.deprecation=ERROR",
+                "--swapi.url=" + swapiUrl));
+        if (!ativos.isEmpty())
+            argumentos.add("--spring.profiles.active=" + String.join(",", ativos));
+        if (ativos.contains("reativo")) {
+            argumentos.addAll(List.of(
+                    "--spring.r2dbc.url=r2dbc:h2:mem:///" + banco + ";DB_CLOSE_DELAY=-1",
+                    "--spring.r2dbc.username=sa",
+                    "--spring.r2dbc.password=",
+                    "--spring.sql.init.mode=always",
+                    "--spring.sql.init.schema-locations=classpath:reativo/schema-h2.sql",
+                    // o r2dbc-h2 executa as consultas na própria thread: com o pool, a thread do Netty que entrega
+                    // as conexões executa as consultas de todas as requisições na fila, e as requisições das suas
+                    // conexões HTTP ficam paradas por vários segundos
+                    "--spring.r2dbc.pool.enabled=false"));
+        } else {
+            argumentos.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:" + banco + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.jpa.hibernate.ddl-auto=create",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                    "--spring.jpa.show-sql=false",
+                    "--spring.jpa.properties.hibernate.format_sql=false"));
+        }
+        System.out.println("Perfis da aplicacao: " + (ativos.isEmpty() ? "padrao" : String.join(",", ativos)));
+        ConfigurableApplicationContext aplicacao = new SpringApplicationBuilder(AmeDigitalApplication.class)
+                .run(argumentos.toArray(String[]::new));
+        System.out.println("Servidor web: " + ((WebServerApplicationContext) aplicacao).getWebServer().getClass().getSimpleName());
+        return aplicacao;
+    }
+}
@@ -0,0 +1,15 @@
+-- Esquema da tabela planetas para o H2, equivalente ao resultado das migracoes V1 a V7 do Flyway, usado pelo teste
+-- de carga no perfil reativo, em que o esquema nao pode ser criado pelo Hibernate
+CREATE SEQUENCE IF NOT EXISTS planetas_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS planetas (
+    id BIGINT DEFAULT NEXT VALUE FOR planetas_id_seq PRIMARY KEY,
+    nome VARCHAR(50) NOT NULL CONSTRAINT nome_unique UNIQUE,
+    clima VARCHAR(50),
+    terreno VARCHAR(50),
+    aparicoes INTEGER,
+    status_enriquecimento VARCHAR(20) NOT NULL DEFAULT 'CONCLUIDO',
+    tentativas_enriquecimento INTEGER NOT NULL DEFAULT 0,
+    proxima_tentativa_enriquecimento TIMESTAMP WITH TIME ZONE,
+    versao BIGINT NOT NULL DEFAULT 0
+);
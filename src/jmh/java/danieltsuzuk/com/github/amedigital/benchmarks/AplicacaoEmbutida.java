@@ -0,0 +1,80 @@
+package danieltsuzuk.com.github.amedigital.benchmarks;
+
+import danieltsuzuk.com.github.amedigital.AmeDigitalApplication;
+import danieltsuzuk.com.github.amedigital.services.FiltroDeNomes;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Contexto da aplicação para os benchmarks, com banco H2 em memória e a {@link SwapiFalsa}.
+ * <p>
+ * Sobe os serviços sem o servidor web, com o esquema criado pelo Hibernate no lugar das migrações do Flyway, que
+ * usam recursos exclusivos do PostgreSQL, e sem o log das queries SQL.
+ * </p>
+ */
+public final class AplicacaoEmbutida implements AutoCloseable {
+
+    private final SwapiFalsa swapi;
+    private final ConfigurableApplicationContext contexto;
+
+    private AplicacaoEmbutida(SwapiFalsa swapi, String... propriedades) {
+        this.swapi = swapi;
+        List<String> argumentos = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "spring.datasource.driver-class-name=org.h2.Driver",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.flyway.enabled=false",
+                "spring.jpa.hibernate.ddl-auto=create",
+                "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "swapi.url=" + swapi.getUrl()));
+        argumentos.addAll(List.of(propriedades));
+        // como argumentos de linha de comando, as propriedades têm precedência sobre o application.properties
+        this.contexto = new SpringApplicationBuilder(AmeDigitalApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos.stream().map(propriedade -> "--" + propriedade).toArray(String[]::new));
+    }
+
+    /**
+     * Inicia a API simulada e o contexto da aplicação.
+     *
+     * @param propriedades propriedades adicionais da aplicação, no formato chave=valor
+     * @return a aplicação iniciada
+     * @throws IOException se a API simulada não puder ser iniciada
+     */
+    public static AplicacaoEmbutida iniciar(String... propriedades) throws IOException {
+        return new AplicacaoEmbutida(SwapiFalsa.iniciar(0), propriedades);
+    }
+
+    public <T> T bean(Class<T> tipo) {
+        return contexto.getBean(tipo);
+    }
+
+    /**
+     * Insere planetas diretamente no banco, com os nomes "Planeta 00001" em diante, e reconstrói o filtro de nomes.
+     *
+     * @param quantidade a quantidade de planetas
+     */
+    public void inserirPlanetas(int quantidade) {
+        bean(JdbcTemplate.class).update("insert into planetas (id, nome, clima, terreno, aparicoes, " +
+                "status_enriquecimento, tentativas_enriquecimento, versao) " +
+                "select nextval('planetas_id_seq'), 'Planeta ' || lpad(cast(x as varchar), 5, '0'), 'temperado', " +
+                "'montanhoso', mod(x, 6), 'CONCLUIDO', 0, 0 from system_range(1, ?)", quantidade);
+        bean(FiltroDeNomes.class).reconstruir();
+    }
+
+    @Override
+    public void close() {
+        contexto.close();
+        swapi.close();
+    }
+}
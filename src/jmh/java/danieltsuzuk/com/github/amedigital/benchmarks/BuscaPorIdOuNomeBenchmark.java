@@ -0,0 +1,94 @@
+package danieltsuzuk.com.github.amedigital.benchmarks;
+
+import danieltsuzuk.com.github.amedigital.Utils.IdPlaneta;
+import danieltsuzuk.com.github.amedigital.controllers.PlanetaController;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import danieltsuzuk.com.github.amedigital.services.PlanetaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da escolha entre a busca por ID e a busca por nome no GET /planetas/{variavel}.
+ * <p>
+ * O controller é chamado diretamente, com um serviço que retorna sempre o mesmo planeta, de modo que o tempo
+ * medido é o da classificação da variável como ID ou nome e o da montagem da resposta com o ETag. O benchmark
+ * anterior reproduz a classificação substituída, com o Long.parseLong e a captura da exceção lançada quando a
+ * variável é um nome, e os benchmarks por ID e por nome chamam as rotas explícitas, sem classificação.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BuscaPorIdOuNomeBenchmark {
+
+    @Param({"42", "Tatooine", "12345678901234567890"})
+    private String variavel;
+
+    private PlanetaController controller;
+    private Long id;
+
+    @Setup
+    public void configuracao() {
+        controller = new PlanetaController();
+        ReflectionTestUtils.setField(controller, "service", new ServicoFixo());
+        ReflectionTestUtils.setField(controller, "cacheControlPlaneta", "no-cache");
+        // na rota explícita, o Spring já converteu a variável pela rota escolhida pelo cliente
+        id = IdPlaneta.ehId(variavel) ? Long.valueOf(variavel) : null;
+    }
+
+    @Benchmark
+    public ResponseEntity<PlanetaResponse> buscarPorIdOuNome() {
+        return controller.buscarPorIdOuNome(variavel);
+    }
+
+    @Benchmark
+    public ResponseEntity<PlanetaResponse> anterior() {
+        Long id = null;
+        try {
+            id = Long.parseLong(variavel);
+        } catch (RuntimeException e) {
+            // a variável é um nome
+        }
+        return id != null ? controller.buscarPorId(id) : controller.buscarPorNome(variavel);
+    }
+
+    @Benchmark
+    public ResponseEntity<PlanetaResponse> rotaExplicita() {
+        return id != null ? controller.buscarPorId(id) : controller.buscarPorNome(variavel);
+    }
+
+    /**
+     * Serviço que responde às buscas sem acessar o banco.
+     */
+    private static class ServicoFixo extends PlanetaService {
+
+        private final PlanetaResponse planeta = new PlanetaResponse(new Planeta(42L, "Tatooine", "arido", "deserto", 5));
+
+        @Override
+        public PlanetaResponse buscarPorId(Long id) {
+            return planeta;
+        }
+
+        @Override
+        public PlanetaResponse buscarPorNome(String nome) {
+            return planeta;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package danieltsuzuk.com.github.amedigital.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compara o resultado JSON de uma execução dos benchmarks com o de uma execução anterior.
+ * <p>
+ * Para cada benchmark presente nos dois arquivos, imprime a variação do resultado e aponta como regressão a piora
+ * acima do limite, considerando que no modo de vazão (thrpt) um valor maior é melhor e nos demais um valor menor é
+ * melhor. Termina com o código 1 se houver alguma regressão. Sem o arquivo anterior, apenas imprime os resultados.
+ * </p>
+ * <p>
+ * Argumentos: o resultado atual, o limite de regressão em porcentagem e, opcionalmente, o resultado anterior.
+ * </p>
+ */
+public final class ComparadorDeResultados {
+
+    private ComparadorDeResultados() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, JsonNode> atuais = ler(objectMapper, new File(args[0]));
+        double limite = Double.parseDouble(args[1]);
+        File arquivoBase = args.length > 2 && !args[2].isBlank() ? new File(args[2]) : null;
+
+        if (arquivoBase == null) {
+            atuais.forEach((nome, resultado) -> System.out.printf(Locale.ROOT, "%-90s %14.3f %s%n", nome,
+                    resultado.path("primaryMetric").path("score").asDouble(),
+                    resultado.path("primaryMetric").path("scoreUnit").asText()));
+            return;
+        }
+
+        Map<String, JsonNode> base = ler(objectMapper, arquivoBase);
+        int regressoes = 0;
+        for (Map.Entry<String, JsonNode> atual : atuais.entrySet()) {
+            JsonNode anterior = base.get(atual.getKey());
+            if (anterior == null)
+                continue;
+
+            double valorAnterior = anterior.path("primaryMetric").path("score").asDouble();
+            double valorAtual = atual.getValue().path("primaryMetric").path("score").asDouble();
+            double variacao = (valorAtual - valorAnterior) / valorAnterior * 100;
+            double piora = "thrpt".equals(atual.getValue().path("mode").asText()) ? -variacao : variacao;
+            boolean regressao = piora > limite;
+            if (regressao)
+                regressoes++;
+            System.out.printf(Locale.ROOT, "%-90s %14.3f -> %14.3f %s %+7.1f%%%s%n", atual.getKey(), valorAnterior,
+                    valorAtual, atual.getValue().path("primaryMetric").path("scoreUnit").asText(), variacao,
+                    regressao ? "  REGRESSAO" : "");
+        }
+
+        if (regressoes > 0) {
+            System.out.printf("%d benchmarks pioraram mais de %.0f%%%n", regressoes, limite);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Lê o resultado JSON do JMH, indexado pelo nome do benchmark com os seus parâmetros.
+     */
+    private static Map<String, JsonNode> ler(ObjectMapper objectMapper, File arquivo) throws IOException {
+        Map<String, JsonNode> resultados = new LinkedHashMap<>();
+        for (JsonNode resultado : objectMapper.readTree(arquivo)) {
+            StringBuilder nome = new StringBuilder(resultado.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> parametros = resultado.path("params").fields();
+            while (parametros.hasNext()) {
+                Map.Entry<String, JsonNode> parametro = parametros.next();
+                nome.append(nome.indexOf(":") < 0 ? ":" : ",").append(parametro.getKey()).append('=')
+                        .append(parametro.getValue().asText());
+            }
+            resultados.put(nome.toString(), resultado);
+        }
+        return resultados;
+    }
+}
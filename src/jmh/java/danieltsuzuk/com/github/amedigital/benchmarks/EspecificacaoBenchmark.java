@@ -0,0 +1,74 @@
+package danieltsuzuk.com.github.amedigital.benchmarks;
+
+import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import danieltsuzuk.com.github.amedigital.specifications.PlanetaSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da montagem das especificações da listagem de planetas.
+ * <p>
+ * Mede a composição das especificações de nome e ID feita pelo controller e a conversão delas em predicados da
+ * Criteria API do Hibernate, com o banco H2 embutido.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EspecificacaoBenchmark {
+
+    @Param({"CONTEM", "PREFIXO"})
+    private PlanetaSpecification.ModoBusca modo;
+
+    private AplicacaoEmbutida aplicacao;
+    private EntityManager entityManager;
+    private CriteriaBuilder builder;
+
+    @Setup
+    public void configuracao() throws IOException {
+        aplicacao = AplicacaoEmbutida.iniciar();
+        entityManager = aplicacao.bean(EntityManagerFactory.class).createEntityManager();
+        builder = entityManager.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void encerrar() {
+        entityManager.close();
+        aplicacao.close();
+    }
+
+    @Benchmark
+    public Specification<Planeta> compor() {
+        return Specification.where(PlanetaSpecification.buscarNome("tat", modo)).and(PlanetaSpecification.hasId(42L));
+    }
+
+    @Benchmark
+    public Predicate comporEConverter() {
+        CriteriaQuery<Planeta> consulta = builder.createQuery(Planeta.class);
+        Root<Planeta> planeta = consulta.from(Planeta.class);
+        return compor().toPredicate(planeta, consulta, builder);
+    }
+}
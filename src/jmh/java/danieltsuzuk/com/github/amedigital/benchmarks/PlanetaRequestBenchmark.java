@@ -0,0 +1,62 @@
+package danieltsuzuk.com.github.amedigital.benchmarks;
+
+import danieltsuzuk.com.github.amedigital.dto.PlanetaRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks da validação do PlanetaRequest com o Bean Validation, para um pedido válido e um com todos os campos
+ * inválidos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlanetaRequestBenchmark {
+
+    private ValidatorFactory fabrica;
+    private Validator validator;
+    private PlanetaRequest valido;
+    private PlanetaRequest invalido;
+
+    @Setup
+    public void configuracao() {
+        fabrica = Validation.buildDefaultValidatorFactory();
+        validator = fabrica.getValidator();
+        valido = new PlanetaRequest("Tatooine", "arido", "deserto");
+        invalido = new PlanetaRequest("T", "", null);
+    }
+
+    @TearDown
+    public void encerrar() {
+        fabrica.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PlanetaRequest>> validarValido() {
+        return validator.validate(valido);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<PlanetaRequest>> validarInvalido() {
+        return validator.validate(invalido);
+    }
+}
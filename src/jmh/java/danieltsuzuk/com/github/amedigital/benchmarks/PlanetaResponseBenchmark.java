@@ -0,0 +1,66 @@
+package danieltsuzuk.com.github.amedigital.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmarks da criação do PlanetaResponse a partir da entidade e da sua serialização com o Jackson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlanetaResponseBenchmark {
+
+    private Planeta planeta;
+    private PlanetaResponse response;
+    private List<PlanetaResponse> pagina;
+    private ObjectWriter escritor;
+    private ObjectWriter escritorLista;
+
+    @Setup
+    public void configuracao() {
+        planeta = new Planeta(1L, "Tatooine", "arido", "deserto", 5);
+        response = new PlanetaResponse(planeta);
+        pagina = IntStream.range(0, 20)
+                .mapToObj(i -> new PlanetaResponse(new Planeta((long) i, "Planeta " + i, "temperado", "montanhoso", i % 6)))
+                .toList();
+        ObjectMapper objectMapper = new ObjectMapper();
+        escritor = objectMapper.writerFor(PlanetaResponse.class);
+        escritorLista = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, PlanetaResponse.class));
+    }
+
+    @Benchmark
+    public PlanetaResponse criarDaEntidade() {
+        return new PlanetaResponse(planeta);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws JsonProcessingException {
+        return escritor.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializarPaginaDe20() throws JsonProcessingException {
+        return escritorLista.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,114 @@
+package danieltsuzuk.com.github.amedigital.benchmarks;
+
+import danieltsuzuk.com.github.amedigital.Utils.CursorPagina;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaCursorResponse;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaRequest;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import danieltsuzuk.com.github.amedigital.services.PlanetaCache;
+import danieltsuzuk.com.github.amedigital.services.PlanetaService;
+import danieltsuzuk.com.github.amedigital.specifications.PlanetaSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmarks dos caminhos completos do PlanetaService, com o banco H2 embutido e a API do Star Wars simulada.
+ * <p>
+ * O banco começa com 10.000 planetas. As buscas por ID e por nome são medidas com o planeta no cache e, nas
+ * variantes "Banco", com o planeta removido do cache antes da busca. A criação usa um nome novo a cada chamada,
+ * então sempre consulta a API simulada e insere uma linha.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlanetaServiceBenchmark {
+
+    private static final int PLANETAS = 10_000;
+    private static final String NOME_BUSCADO = "Planeta 00500";
+    private static final Pageable PAGINA = PageRequest.of(10, 20, Sort.by("nome"));
+
+    private final AtomicLong criados = new AtomicLong();
+
+    private AplicacaoEmbutida aplicacao;
+    private PlanetaService service;
+    private PlanetaCache cache;
+    private Long idBuscado;
+    private Specification<Planeta> filtroPorNome;
+
+    @Setup
+    public void configuracao() throws IOException {
+        aplicacao = AplicacaoEmbutida.iniciar();
+        aplicacao.inserirPlanetas(PLANETAS);
+        service = aplicacao.bean(PlanetaService.class);
+        cache = aplicacao.bean(PlanetaCache.class);
+        idBuscado = aplicacao.bean(JdbcTemplate.class).queryForObject("select id from planetas where nome = ?",
+                Long.class, NOME_BUSCADO);
+        filtroPorNome = Specification.where(PlanetaSpecification.buscarNome("planeta 00",
+                PlanetaSpecification.ModoBusca.PREFIXO));
+    }
+
+    @TearDown
+    public void encerrar() {
+        aplicacao.close();
+    }
+
+    @Benchmark
+    public PlanetaResponse buscarPorId() {
+        return service.buscarPorId(idBuscado);
+    }
+
+    @Benchmark
+    public PlanetaResponse buscarPorIdNoBanco() {
+        cache.invalidar(idBuscado, null);
+        return service.buscarPorId(idBuscado);
+    }
+
+    @Benchmark
+    public PlanetaResponse buscarPorNome() {
+        return service.buscarPorNome(NOME_BUSCADO);
+    }
+
+    @Benchmark
+    public PlanetaResponse buscarPorNomeNoBanco() {
+        cache.invalidar(null, NOME_BUSCADO);
+        return service.buscarPorNome(NOME_BUSCADO);
+    }
+
+    @Benchmark
+    public Page<PlanetaResponse> buscarTodos() {
+        return service.buscarTodos(filtroPorNome, PAGINA);
+    }
+
+    @Benchmark
+    public PlanetaCursorResponse buscarPorCursor() {
+        return service.buscarPorCursor(filtroPorNome, new CursorPagina(CursorPagina.Ordenacao.NOME, "Planeta 00200"), 20);
+    }
+
+    @Benchmark
+    public PlanetaResponse criar() {
+        return service.criar(new PlanetaRequest("Novo " + criados.incrementAndGet(), "temperado", "montanhoso"));
+    }
+}
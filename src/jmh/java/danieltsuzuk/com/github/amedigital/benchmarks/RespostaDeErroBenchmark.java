@@ -0,0 +1,149 @@
+package danieltsuzuk.com.github.amedigital.benchmarks;
+
+import danieltsuzuk.com.github.amedigital.controllers.PlanetaController;
+import danieltsuzuk.com.github.amedigital.dto.ErroResponse;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.exceptions.PlanetaNaoEncontradoException;
+import danieltsuzuk.com.github.amedigital.exceptions.RespostasDeErro;
+import danieltsuzuk.com.github.amedigital.exceptions.TratadorDeExceptions;
+import danieltsuzuk.com.github.amedigital.services.PlanetaService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark das respostas 404 do GET /planetas/{variavel}, do lançamento da exceção no serviço até o corpo de erro.
+ * <p>
+ * O benchmark atual usa uma exceção compartilhada e sem pilha, e o {@link TratadorDeExceptions} com a lista de erros,
+ * o status e o contador prontos. O benchmark anterior reproduz o caminho substituído: uma exceção nova, com a pilha capturada,
+ * e a lista de erros e o contador montados a cada resposta. Antes do controller, a pilha recebe a quantidade de
+ * chamadas do parâmetro profundidade, já que em uma requisição real os filtros, o DispatcherServlet e os proxies
+ * deixam mais de cem chamadas na pilha, e o custo da captura cresce com ela. A alocação por operação aparece na
+ * métrica gc.alloc.rate.norm do profiler gc, usado por padrão no perfil benchmarks.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RespostaDeErroBenchmark {
+
+    private static final String MENSAGEM = "Planeta nao encontrado";
+    private static final PlanetaNaoEncontradoException NAO_ENCONTRADO = new PlanetaNaoEncontradoException(MENSAGEM);
+
+    @Param({"20", "150"})
+    private int profundidade;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/planetas/999");
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private PlanetaController controllerAtual;
+    private PlanetaController controllerAnterior;
+    private TratadorDeExceptions tratador;
+
+    @Setup
+    public void configuracao() {
+        controllerAtual = controller(() -> NAO_ENCONTRADO);
+        controllerAnterior = controller(() -> new ExcecaoComPilha(MENSAGEM));
+        tratador = new TratadorDeExceptions();
+        ReflectionTestUtils.setField(tratador, "respostas", new RespostasDeErro(registry));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> atual() {
+        return buscar(profundidade, controllerAtual);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> anterior() {
+        return buscar(profundidade, controllerAnterior);
+    }
+
+    private ResponseEntity<?> buscar(int nivel, PlanetaController controller) {
+        if (nivel > 0)
+            return buscar(nivel - 1, controller);
+        try {
+            return controller.buscarPorIdOuNome("999");
+        } catch (PlanetaNaoEncontradoException e) {
+            return tratador.bancoDeDadosException(request, e);
+        } catch (ExcecaoComPilha e) {
+            return respostaAnterior(e);
+        }
+    }
+
+    /**
+     * Monta a resposta como o tratador fazia antes das respostas de erro prontas.
+     */
+    private ResponseEntity<Object> respostaAnterior(ExcecaoComPilha e) {
+        HttpStatus status = HttpStatus.NOT_FOUND;
+        Counter.builder("planetas.erros")
+                .tag("tipo", "PlanetaNaoEncontradoException")
+                .tag("status", String.valueOf(status.value()))
+                .description("Excecoes tratadas e convertidas em respostas de erro")
+                .register(registry)
+                .increment();
+        ErroResponse erro = new ErroResponse(new Date(), status.value(), Arrays.asList(e.getMessage()), request.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(erro);
+    }
+
+    private static PlanetaController controller(Supplier<RuntimeException> excecao) {
+        PlanetaController controller = new PlanetaController();
+        ReflectionTestUtils.setField(controller, "service", new ServicoVazio(excecao));
+        ReflectionTestUtils.setField(controller, "cacheControlPlaneta", "no-cache");
+        return controller;
+    }
+
+    /**
+     * Exceção com a pilha de chamadas capturada, como a PlanetaNaoEncontradoException era antes.
+     */
+    private static class ExcecaoComPilha extends RuntimeException {
+
+        ExcecaoComPilha(String mensagem) {
+            super(mensagem);
+        }
+    }
+
+    /**
+     * Serviço em que nenhum planeta é encontrado, sem acessar o banco.
+     */
+    private static class ServicoVazio extends PlanetaService {
+
+        private final Supplier<RuntimeException> excecao;
+
+        ServicoVazio(Supplier<RuntimeException> excecao) {
+            this.excecao = excecao;
+        }
+
+        @Override
+        public PlanetaResponse buscarPorId(Long id) {
+            throw excecao.get();
+        }
+
+        @Override
+        public PlanetaResponse buscarPorNome(String nome) {
+            throw excecao.get();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package danieltsuzuk.com.github.amedigital.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * API do Star Wars simulada com o servidor HTTP do JDK.
+ * <p>
+ * Responde a /planets/?search= com um único planeta com o nome buscado, e uma quantidade de filmes derivada do
+ * nome, para que as buscas sejam determinísticas. A espera configurada é aplicada antes de cada resposta, para
+ * simular a latência da API real.
+ * </p>
+ */
+public final class SwapiFalsa implements AutoCloseable {
+
+    private final HttpServer servidor;
+    private final ExecutorService threads;
+    private final long esperaEmMs;
+
+    static {
+        // sem o TCP_NODELAY, o cabeçalho e o corpo enviados separadamente esperam o ACK atrasado do cliente
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private SwapiFalsa(long esperaEmMs) throws IOException {
+        this.esperaEmMs = esperaEmMs;
+        this.servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.threads = Executors.newCachedThreadPool(tarefa -> {
+            Thread thread = new Thread(tarefa, "swapi-falsa");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.servidor.createContext("/api/planets/", this::responder);
+        this.servidor.setExecutor(threads);
+    }
+
+    /**
+     * Inicia a API simulada em uma porta livre.
+     *
+     * @param esperaEmMs o tempo de espera antes de cada resposta, em milissegundos
+     * @return a API simulada, já aceitando conexões
+     * @throws IOException se o servidor não puder ser iniciado
+     */
+    public static SwapiFalsa iniciar(long esperaEmMs) throws IOException {
+        SwapiFalsa swapi = new SwapiFalsa(esperaEmMs);
+        swapi.servidor.start();
+        return swapi;
+    }
+
+    /**
+     * @return a URL base da API simulada, no formato da propriedade swapi.url
+     */
+    public String getUrl() {
+        return "http://127.0.0.1:" + servidor.getAddress().getPort() + "/api/";
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        threads.shutdownNow();
+    }
+
+    private void responder(HttpExchange troca) throws IOException {
+        try (troca) {
+            if (esperaEmMs > 0)
+                Thread.sleep(esperaEmMs);
+            String nome = parametroBusca(troca.getRequestURI().getRawQuery());
+            byte[] corpo = corpo(nome).getBytes(StandardCharsets.UTF_8);
+            troca.getResponseHeaders().set("Content-Type", "application/json");
+            troca.sendResponseHeaders(200, corpo.length);
+            try (OutputStream saida = troca.getResponseBody()) {
+                saida.write(corpo);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String parametroBusca(String consulta) {
+        if (consulta != null) {
+            for (String parametro : consulta.split("&")) {
+                if (parametro.startsWith("search="))
+                    return URLDecoder.decode(parametro.substring("search=".length()), StandardCharsets.UTF_8);
+            }
+        }
+        return "";
+    }
+
+    private static String corpo(String nome) {
+        StringBuilder filmes = new StringBuilder();
+        for (int i = 0; i < Math.floorMod(nome.hashCode(), 7); i++)
+            filmes.append(i == 0 ? "" : ",").append("\"https://swapi.dev/api/films/").append(i + 1).append("/\"");
+        return "{\"count\":1,\"next\":null,\"previous\":null,\"results\":[{\"name\":\"" + nome.replace("\"", "")
+                + "\",\"films\":[" + filmes + "]}]}";
+    }
+}
@@ -2,8 +2,10 @@ package danieltsuzuk.com.github.amedigital;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class AmeDigitalApplication {
 
     public static void main(String[] args) {
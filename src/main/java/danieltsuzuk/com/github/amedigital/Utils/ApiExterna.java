@@ -1,17 +1,53 @@
 package danieltsuzuk.com.github.amedigital.Utils;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * Configuração do cliente HTTP da API do Star Wars.
+ * <p>
+ * O cliente usa um pool de conexões próprio e limitado, com tempo máximo de espera por uma conexão livre, timeout
+ * de conexão e timeout de resposta, para que uma API lenta ou fora do ar não prenda threads indefinidamente.
+ * As métricas do pool são publicadas com o prefixo reactor.netty.connection.provider.
+ * </p>
+ */
 @Configuration
 public class ApiExterna {
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider conexoesStarWars(@Value("${swapi.conexoes.maximo:50}") int maximoConexoes,
+                                               @Value("${swapi.conexoes.espera-maxima:PT2S}") Duration esperaMaxima,
+                                               @Value("${swapi.conexoes.ociosidade-maxima:PT30S}") Duration ociosidadeMaxima) {
+        return ConnectionProvider.builder("swapi")
+                .maxConnections(maximoConexoes)
+                .pendingAcquireTimeout(esperaMaxima)
+                .maxIdleTime(ociosidadeMaxima)
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient apiStarWars(WebClient.Builder builder) {
-        return builder.baseUrl("https://swapi.dev/api/")
+    public WebClient apiStarWars(WebClient.Builder builder,
+                                 ConnectionProvider conexoesStarWars,
+                                 @Value("${swapi.url:https://swapi.dev/api/}") String url,
+                                 @Value("${swapi.timeout.conexao:PT2S}") Duration timeoutConexao,
+                                 @Value("${swapi.timeout.resposta:PT5S}") Duration timeoutResposta) {
+        HttpClient httpClient = HttpClient.create(conexoesStarWars)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) timeoutConexao.toMillis())
+                .responseTimeout(timeoutResposta);
+
+        return builder.baseUrl(url)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                 .build();
     }
@@ -0,0 +1,24 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * Configuração do WebFlux para o perfil "reativo".
+ * <p>
+ * Registra o resolvedor de {@link org.springframework.data.domain.Pageable}, que o Spring Boot só configura
+ * automaticamente para aplicações servlet.
+ * </p>
+ */
+@Configuration
+@Profile("reativo")
+public class ConfiguracaoReativa implements WebFluxConfigurer {
+
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
+    }
+}
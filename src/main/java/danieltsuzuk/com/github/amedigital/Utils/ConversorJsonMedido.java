@@ -0,0 +1,68 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Conversor JSON do Spring MVC que mede o tempo de serialização das respostas.
+ * <p>
+ * Substitui o conversor Jackson criado pelo Spring Boot, usando o mesmo ObjectMapper, e registra o tempo de escrita
+ * de cada corpo no timer planetas.serializacao, com o nome simples da classe serializada na tag tipo. O tempo inclui
+ * a escrita no buffer da resposta, e só inclui o envio pela rede quando o corpo não cabe no buffer.
+ * </p>
+ */
+@Component
+@Profile("!reativo")
+public class ConversorJsonMedido extends MappingJackson2HttpMessageConverter {
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, Timer> timers = new ConcurrentHashMap<>();
+
+    public ConversorJsonMedido(ObjectMapper objectMapper, MeterRegistry registry) {
+        super(objectMapper);
+        this.registry = registry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        Timer.Sample inicio = Timer.start(registry);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            inicio.stop(timerDe(object.getClass()));
+        }
+    }
+
+    /**
+     * Obtém o timer da classe serializada, registrando-o na primeira resposta com essa classe.
+     * <p>
+     * O get evita o lock do computeIfAbsent e a montagem das tags do builder nas respostas seguintes, que só
+     * consultam o mapa.
+     * </p>
+     *
+     * @param classe a classe do corpo da resposta
+     * @return o timer planetas.serializacao da classe
+     */
+    private Timer timerDe(Class<?> classe) {
+        Timer timer = timers.get(classe);
+        if (timer == null)
+            timer = timers.computeIfAbsent(classe, c -> Timer.builder("planetas.serializacao")
+                    .tag("tipo", ClassUtils.getUserClass(c).getSimpleName())
+                    .description("Tempo de serializacao do corpo das respostas em JSON")
+                    .register(registry));
+        return timer;
+    }
+}
@@ -0,0 +1,71 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilitário para leitura e escrita de linhas CSV.
+ * <p>
+ * Segue o formato da RFC 4180 com campos separados por vírgula e delimitados opcionalmente por aspas duplas,
+ * em que uma aspa dentro do campo é representada por duas aspas. Cada registro deve ocupar uma única linha.
+ * </p>
+ */
+public final class Csv {
+
+    private static final char SEPARADOR = ',';
+    private static final char ASPAS = '"';
+
+    private Csv() {
+    }
+
+    /**
+     * Separa os campos de uma linha CSV.
+     *
+     * @param linha a linha a ser separada
+     * @return os campos da linha, sem as aspas delimitadoras
+     * @throws IllegalArgumentException se a linha tiver aspas não fechadas
+     */
+    public static List<String> separar(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c != ASPAS)
+                    campo.append(c);
+                else if (i + 1 < linha.length() && linha.charAt(i + 1) == ASPAS)
+                    campo.append(linha.charAt(++i));
+                else
+                    entreAspas = false;
+            } else if (c == ASPAS) {
+                entreAspas = true;
+            } else if (c == SEPARADOR) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+
+        if (entreAspas)
+            throw new IllegalArgumentException("Aspas nao fechadas");
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    /**
+     * Escapa um valor para ser escrito como campo CSV.
+     *
+     * @param valor o valor do campo
+     * @return o valor entre aspas se contiver separador, aspas ou quebra de linha, ou o próprio valor caso contrário
+     */
+    public static String escapar(String valor) {
+        if (valor == null)
+            return "";
+        if (valor.indexOf(SEPARADOR) < 0 && valor.indexOf(ASPAS) < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0)
+            return valor;
+        return ASPAS + valor.replace("\"", "\"\"") + ASPAS;
+    }
+}
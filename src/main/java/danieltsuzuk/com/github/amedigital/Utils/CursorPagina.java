@@ -0,0 +1,116 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import danieltsuzuk.com.github.amedigital.exceptions.PaginacaoInvalidaException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Posição de uma listagem paginada por cursor.
+ * <p>
+ * Guarda a ordenação e o valor da coluna ordenada no último planeta da página anterior. É enviado ao cliente como
+ * um token opaco em Base64, que deve ser devolvido sem alterações para buscar a próxima página.
+ * </p>
+ *
+ * @param ordenacao   a coluna pela qual os planetas são ordenados
+ * @param ultimoValor o valor da coluna no último planeta já retornado, ou null na primeira página
+ */
+public record CursorPagina(Ordenacao ordenacao, String ultimoValor) {
+
+    private static final char SEPARADOR = ':';
+
+    /**
+     * Colunas aceitas para a ordenação, ambas únicas para que a posição do cursor não seja ambígua.
+     */
+    public enum Ordenacao {
+        ID("id"), NOME("nome");
+
+        private final String campo;
+
+        Ordenacao(String campo) {
+            this.campo = campo;
+        }
+
+        public String getCampo() {
+            return campo;
+        }
+
+        /**
+         * Identifica a ordenação pelo nome, sem diferenciar maiúsculas e minúsculas.
+         *
+         * @param nome o nome da ordenação
+         * @return a ordenação
+         * @throws PaginacaoInvalidaException se o nome não corresponder a nenhuma ordenação
+         */
+        public static Ordenacao porNome(String nome) {
+            for (Ordenacao ordenacao : values()) {
+                if (ordenacao.campo.equals(nome == null ? null : nome.trim().toLowerCase(Locale.ROOT)))
+                    return ordenacao;
+            }
+            throw new PaginacaoInvalidaException("Ordenacao deve ser id ou nome");
+        }
+    }
+
+    /**
+     * Cria o cursor da primeira página.
+     *
+     * @param ordenacao a coluna pela qual os planetas são ordenados
+     * @return o cursor da primeira página
+     */
+    public static CursorPagina inicio(Ordenacao ordenacao) {
+        return new CursorPagina(ordenacao, null);
+    }
+
+    /**
+     * Verifica se o cursor aponta para a primeira página.
+     *
+     * @return true se nenhum planeta foi retornado ainda
+     */
+    public boolean primeiraPagina() {
+        return ultimoValor == null;
+    }
+
+    /**
+     * Retorna o último ID já retornado, para cursores ordenados por ID.
+     *
+     * @return o último ID
+     */
+    public Long ultimoId() {
+        return Long.valueOf(ultimoValor);
+    }
+
+    /**
+     * Codifica o cursor como um token opaco.
+     *
+     * @return o token em Base64 sem preenchimento, seguro para ser usado em URLs
+     */
+    public String codificar() {
+        String conteudo = ordenacao.campo + SEPARADOR + ultimoValor;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica um token gerado por {@link #codificar()}.
+     *
+     * @param token o token recebido do cliente
+     * @return o cursor correspondente
+     * @throws PaginacaoInvalidaException se o token não for um cursor válido
+     */
+    public static CursorPagina decodificar(String token) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separador = conteudo.indexOf(SEPARADOR);
+            if (separador < 0)
+                throw new PaginacaoInvalidaException("Cursor invalido");
+
+            CursorPagina cursor = new CursorPagina(Ordenacao.porNome(conteudo.substring(0, separador)),
+                    conteudo.substring(separador + 1));
+            if (cursor.ordenacao == Ordenacao.ID)
+                cursor.ultimoId();
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new PaginacaoInvalidaException("Cursor invalido");
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dimensiona o pool de conexões do Hikari no perfil "desempenho".
+ * <p>
+ * O tamanho segue a fórmula recomendada pelo Hikari, processadores * 2 + discos, já que o banco não atende mais
+ * consultas em paralelo do que isso, e é limitado pela concorrência esperada de requisições ao banco, acima da qual
+ * as conexões ficariam ociosas. O pool tem tamanho fixo, sem abrir e fechar conexões conforme a carga. Se
+ * spring.datasource.hikari.maximum-pool-size for informado, o valor configurado é mantido.
+ * </p>
+ */
+@Component
+@Profile("desempenho")
+public class DimensionamentoDoPool implements BeanPostProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(DimensionamentoDoPool.class);
+
+    static final int TAMANHO_MINIMO = 2;
+
+    private final boolean tamanhoConfigurado;
+    private final int concorrenciaEsperada;
+    private final int discos;
+
+    public DimensionamentoDoPool(Environment environment,
+                                 @Value("${planetas.banco.pool.concorrencia-esperada:50}") int concorrenciaEsperada,
+                                 @Value("${planetas.banco.pool.discos:1}") int discos) {
+        this.tamanhoConfigurado = environment.containsProperty("spring.datasource.hikari.maximum-pool-size");
+        this.concorrenciaEsperada = concorrenciaEsperada;
+        this.discos = discos;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String nome) {
+        if (bean instanceof HikariDataSource dataSource && !tamanhoConfigurado) {
+            int processadores = Runtime.getRuntime().availableProcessors();
+            int tamanho = calcularTamanho(processadores, discos, concorrenciaEsperada);
+            dataSource.setMaximumPoolSize(tamanho);
+            dataSource.setMinimumIdle(tamanho);
+            log.info("Pool de conexoes dimensionado com {} conexoes ({} processadores, {} discos, concorrencia esperada {})",
+                    tamanho, processadores, discos, concorrenciaEsperada);
+        }
+        return bean;
+    }
+
+    /**
+     * Calcula o tamanho do pool de conexões.
+     *
+     * @param processadores        a quantidade de processadores disponíveis
+     * @param discos               a quantidade de discos do servidor do banco
+     * @param concorrenciaEsperada a quantidade esperada de requisições simultâneas ao banco
+     * @return o tamanho do pool, nunca menor que {@value #TAMANHO_MINIMO}
+     */
+    static int calcularTamanho(int processadores, int discos, int concorrenciaEsperada) {
+        return Math.max(TAMANHO_MINIMO, Math.min(processadores * 2 + discos, concorrenciaEsperada));
+    }
+}
@@ -0,0 +1,62 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+
+/**
+ * Utilitário para gerar os ETags das respostas de planetas.
+ * <p>
+ * O ETag de um planeta é formado pelo ID e pela versão da linha, incrementada a cada alteração, então
+ * muda sempre que o conteúdo do planeta muda. O ETag de uma listagem é um resumo SHA-256 dos IDs e versões dos
+ * planetas da página, junto com os dados que identificam a página, como o total de planetas e o próximo cursor.
+ * </p>
+ */
+public final class EtagPlaneta {
+
+    private static final int BYTES_DO_RESUMO = 16;
+
+    private EtagPlaneta() {
+    }
+
+    /**
+     * Gera o ETag de um planeta.
+     *
+     * @param planeta o planeta
+     * @return o ETag forte, sem aspas
+     */
+    public static String doPlaneta(PlanetaResponse planeta) {
+        return planeta.getId() + "-" + planeta.getVersao();
+    }
+
+    /**
+     * Gera o ETag de uma lista de planetas.
+     *
+     * @param planetas    os planetas da lista
+     * @param complementos os demais dados que fazem parte da resposta, como o total de planetas
+     * @return o ETag forte, sem aspas
+     */
+    public static String daLista(Collection<PlanetaResponse> planetas, Object... complementos) {
+        MessageDigest resumo = sha256();
+        StringBuilder texto = new StringBuilder(planetas.size() * 16);
+        for (PlanetaResponse planeta : planetas)
+            texto.append(planeta.getId()).append('-').append(planeta.getVersao()).append(',');
+        for (Object complemento : complementos)
+            texto.append('|').append(complemento);
+        byte[] bytes = resumo.digest(texto.toString().getBytes(StandardCharsets.UTF_8));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(bytes, BYTES_DO_RESUMO));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Filtro de Bloom com contadores, que aceita remoções.
+ * <p>
+ * Cada posição do filtro é um contador de um byte, atualizado com compare-and-set, então o filtro pode ser usado por
+ * várias threads sem bloqueio. Um contador que atinge 255 fica saturado e não é mais decrementado, o que pode manter
+ * falsos positivos, mas nunca gera falsos negativos.
+ * </p>
+ * <p>
+ * As posições de cada valor são obtidas por hashing duplo a partir de um hash de 64 bits do texto.
+ * </p>
+ */
+public final class FiltroBloomContador {
+
+    private static final VarHandle CONTADORES = MethodHandles.arrayElementVarHandle(byte[].class);
+    private static final int SATURADO = 0xFF;
+
+    private final byte[] contadores;
+    private final int funcoesHash;
+    private final AtomicLong elementos = new AtomicLong();
+
+    private FiltroBloomContador(int posicoes, int funcoesHash) {
+        this.contadores = new byte[posicoes];
+        this.funcoesHash = funcoesHash;
+    }
+
+    /**
+     * Cria um filtro dimensionado para a capacidade e a taxa de falsos positivos informadas.
+     *
+     * @param capacidade         a quantidade de valores esperada
+     * @param taxaFalsoPositivo a taxa de falsos positivos desejada com o filtro na capacidade, entre 0 e 1
+     * @return o filtro vazio
+     */
+    public static FiltroBloomContador dimensionar(long capacidade, double taxaFalsoPositivo) {
+        long n = Math.max(capacidade, 1);
+        double ln2 = Math.log(2);
+        long posicoes = (long) Math.ceil(-n * Math.log(taxaFalsoPositivo) / (ln2 * ln2));
+        posicoes = Math.min(Math.max(posicoes, 64), Integer.MAX_VALUE - 8);
+        int funcoesHash = (int) Math.max(1, Math.round((double) posicoes / n * ln2));
+        return new FiltroBloomContador((int) posicoes, funcoesHash);
+    }
+
+    /**
+     * Adiciona um valor ao filtro.
+     *
+     * @param valor o valor a ser adicionado
+     */
+    public void adicionar(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1 + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcoesHash; i++)
+            incrementar(posicao(h1, h2, i));
+        elementos.incrementAndGet();
+    }
+
+    /**
+     * Remove um valor adicionado anteriormente.
+     * <p>
+     * Remover um valor que não foi adicionado pode gerar falsos negativos para outros valores.
+     * </p>
+     *
+     * @param valor o valor a ser removido
+     */
+    public void remover(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1 + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcoesHash; i++)
+            decrementar(posicao(h1, h2, i));
+        elementos.decrementAndGet();
+    }
+
+    /**
+     * Verifica se o valor pode estar no filtro.
+     *
+     * @param valor o valor a ser verificado
+     * @return false se o valor certamente não foi adicionado, true se ele pode ter sido
+     */
+    public boolean podeConter(String valor) {
+        long h1 = hash(valor);
+        long h2 = misturar(h1 + 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < funcoesHash; i++) {
+            if ((byte) CONTADORES.getOpaque(contadores, posicao(h1, h2, i)) == 0)
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Estima a taxa de falsos positivos com a quantidade atual de valores.
+     *
+     * @return a taxa estimada, entre 0 e 1
+     */
+    public double taxaFalsoPositivoEstimada() {
+        double n = Math.max(elementos.get(), 0);
+        return Math.pow(1 - Math.exp(-funcoesHash * n / contadores.length), funcoesHash);
+    }
+
+    public long getElementos() {
+        return elementos.get();
+    }
+
+    public int getPosicoes() {
+        return contadores.length;
+    }
+
+    public int getFuncoesHash() {
+        return funcoesHash;
+    }
+
+    private int posicao(long h1, long h2, int i) {
+        return (int) Long.remainderUnsigned(h1 + i * h2, contadores.length);
+    }
+
+    private void incrementar(int posicao) {
+        while (true) {
+            byte atual = (byte) CONTADORES.getVolatile(contadores, posicao);
+            int valor = atual & 0xFF;
+            if (valor == SATURADO || CONTADORES.compareAndSet(contadores, posicao, atual, (byte) (valor + 1)))
+                return;
+        }
+    }
+
+    private void decrementar(int posicao) {
+        while (true) {
+            byte atual = (byte) CONTADORES.getVolatile(contadores, posicao);
+            int valor = atual & 0xFF;
+            if (valor == 0 || valor == SATURADO
+                    || CONTADORES.compareAndSet(contadores, posicao, atual, (byte) (valor - 1)))
+                return;
+        }
+    }
+
+    /**
+     * Calcula o hash FNV-1a de 64 bits dos caracteres do valor, seguido de uma mistura final.
+     */
+    private static long hash(String valor) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < valor.length(); i++) {
+            hash ^= valor.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return misturar(hash);
+    }
+
+    /**
+     * Mistura final do MurmurHash3 de 64 bits.
+     */
+    private static long misturar(long valor) {
+        valor ^= valor >>> 33;
+        valor *= 0xFF51AFD7ED558CCDL;
+        valor ^= valor >>> 33;
+        valor *= 0xC4CEB9FE1A85EC53L;
+        valor ^= valor >>> 33;
+        return valor;
+    }
+}
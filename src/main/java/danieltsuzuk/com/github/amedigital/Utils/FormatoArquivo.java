@@ -0,0 +1,48 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+/**
+ * Formatos de arquivo aceitos na importação e na exportação de planetas.
+ */
+public enum FormatoArquivo {
+
+    NDJSON(MediaType.valueOf("application/x-ndjson")),
+    CSV(MediaType.valueOf("text/csv"));
+
+    private final MediaType tipo;
+
+    FormatoArquivo(MediaType tipo) {
+        this.tipo = tipo;
+    }
+
+    public MediaType getTipo() {
+        return tipo;
+    }
+
+    /**
+     * Identifica o formato pelo tipo de conteúdo.
+     *
+     * @param tipo o tipo de conteúdo
+     * @return CSV se o tipo for text/csv, ou NDJSON caso contrário
+     */
+    public static FormatoArquivo porTipo(MediaType tipo) {
+        return tipo != null && tipo.isCompatibleWith(CSV.tipo) ? CSV : NDJSON;
+    }
+
+    /**
+     * Identifica o formato pelo nome, sem diferenciar maiúsculas e minúsculas.
+     *
+     * @param nome o nome do formato
+     * @return o formato, ou null se o nome não corresponder a nenhum formato
+     */
+    public static FormatoArquivo porNome(String nome) {
+        for (FormatoArquivo formato : values()) {
+            if (formato.name().equals(nome == null ? null : nome.trim().toUpperCase(Locale.ROOT)))
+                return formato;
+        }
+        return null;
+    }
+}
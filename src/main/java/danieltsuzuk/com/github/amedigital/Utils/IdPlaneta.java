@@ -0,0 +1,55 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+/**
+ * Utilitário para reconhecer IDs de planetas nas variáveis de caminho.
+ * <p>
+ * Substitui a tentativa de conversão com Long.parseLong seguida da captura da NumberFormatException, que em toda
+ * busca por nome criava a exceção e preenchia a sua pilha. A verificação percorre os caracteres uma única vez, sem
+ * alocar, e aceita o mesmo que o Long.parseLong para dígitos ASCII: um sinal opcional seguido de dígitos, dentro do
+ * intervalo de um long. Qualquer outro valor é tratado como nome.
+ * </p>
+ */
+public final class IdPlaneta {
+
+    private static final String MAXIMO = String.valueOf(Long.MAX_VALUE);
+    private static final String MINIMO_SEM_SINAL = String.valueOf(Long.MIN_VALUE).substring(1);
+
+    private IdPlaneta() {
+    }
+
+    /**
+     * Indica se a variável de caminho é um ID, ou seja, se o Long.parseLong a converteria sem lançar exceção.
+     *
+     * @param variavel o valor da variável de caminho
+     * @return true se a variável for um número inteiro no intervalo de um long
+     */
+    public static boolean ehId(String variavel) {
+        if (variavel == null || variavel.isEmpty())
+            return false;
+
+        boolean negativo = variavel.charAt(0) == '-';
+        int inicio = negativo || variavel.charAt(0) == '+' ? 1 : 0;
+        if (inicio == variavel.length())
+            return false;
+        for (int i = inicio; i < variavel.length(); i++) {
+            char c = variavel.charAt(i);
+            if (c < '0' || c > '9')
+                return false;
+        }
+
+        // os zeros à esquerda não contam para o limite de dígitos
+        while (inicio < variavel.length() - 1 && variavel.charAt(inicio) == '0')
+            inicio++;
+        String limite = negativo ? MINIMO_SEM_SINAL : MAXIMO;
+        int digitos = variavel.length() - inicio;
+        if (digitos != limite.length())
+            return digitos < limite.length();
+        // com a mesma quantidade de dígitos, a ordem dos caracteres é a ordem numérica
+        for (int i = 0; i < digitos; i++) {
+            char c = variavel.charAt(inicio + i);
+            if (c != limite.charAt(i))
+                return c < limite.charAt(i);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Informa na inicialização se a aplicação está rodando com threads virtuais.
+ * <p>
+ * O Spring Boot ignora silenciosamente a propriedade spring.threads.virtual.enabled em JVMs anteriores ao Java 21;
+ * este componente torna essa situação visível no log.
+ * </p>
+ */
+@Component
+public class ModoDeExecucao {
+
+    private static final Logger log = LoggerFactory.getLogger(ModoDeExecucao.class);
+
+    private static final int VERSAO_MINIMA_THREADS_VIRTUAIS = 21;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean threadsVirtuais;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void informarModo() {
+        int versaoJava = Runtime.version().feature();
+        if (!threadsVirtuais) {
+            log.info("Executando com threads de plataforma (Java {})", versaoJava);
+        } else if (versaoJava < VERSAO_MINIMA_THREADS_VIRTUAIS) {
+            log.warn("Threads virtuais solicitadas, mas a JVM e Java {}; executando com threads de plataforma", versaoJava);
+        } else {
+            log.info("Executando com threads virtuais (Java {})", versaoJava);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import java.util.Locale;
+
+/**
+ * Utilitário para normalização de nomes de planetas.
+ * <p>
+ * Centraliza a forma como os nomes são transformados em chaves de busca, para que caches e índices
+ * em memória tratem "Tatooine", " tatooine " e "TATOOINE" como o mesmo planeta.
+ * </p>
+ */
+public final class NomePlaneta {
+
+    /**
+     * Caractere de escape dos padrões de {@link #padraoDeBusca(String, boolean)}, a ser informado no ESCAPE do LIKE.
+     */
+    public static final char ESCAPE_LIKE = '\\';
+
+    private NomePlaneta() {
+    }
+
+    /**
+     * Normaliza o nome de um planeta para ser usado como chave.
+     *
+     * @param nome o nome do planeta
+     * @return o nome sem espaços nas extremidades e em letras minúsculas, ou null se o nome for nulo
+     */
+    public static String normalizar(String nome) {
+        return nome == null ? null : nome.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Monta o padrão do LIKE para buscar o nome sobre lower(nome), a mesma expressão dos índices de busca.
+     * <p>
+     * O termo é normalizado e os caracteres especiais do LIKE presentes nele são escapados com {@link #ESCAPE_LIKE},
+     * para que as duas pilhas encontrem as mesmas linhas.
+     * </p>
+     *
+     * @param nome    o nome ou parte do nome a ser buscado
+     * @param prefixo true para buscar os nomes que começam com o termo, false para buscar o termo em qualquer posição
+     * @return o padrão do LIKE, ou null se o nome for nulo ou vazio
+     */
+    public static String padraoDeBusca(String nome, boolean prefixo) {
+        String termo = normalizar(nome);
+        if (termo == null || termo.isEmpty())
+            return null;
+
+        StringBuilder padrao = new StringBuilder(termo.length() + 2);
+        if (!prefixo)
+            padrao.append('%');
+        for (char c : termo.toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE_LIKE)
+                padrao.append(ESCAPE_LIKE);
+            padrao.append(c);
+        }
+        return padrao.append('%').toString();
+    }
+}
@@ -0,0 +1,70 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Verifica na inicialização se a aplicação está rodando com o perfil "desempenho".
+ * <p>
+ * Sem o perfil, a configuração padrão loga todas as queries SQL e deixa o Hibernate comparar as entidades com o
+ * esquema a cada inicialização, o que não deve acontecer em produção. Este componente avisa no log quando o perfil
+ * está inativo ou quando alguma dessas configurações foi mantida mesmo com o perfil ativo.
+ * </p>
+ */
+@Component
+public class PerfilDeDesempenho {
+
+    private static final Logger log = LoggerFactory.getLogger(PerfilDeDesempenho.class);
+
+    static final String PERFIL = "desempenho";
+    private static final Set<String> DDL_AUTO_PERMITIDOS = Set.of("validate", "none");
+
+    private final Environment environment;
+
+    public PerfilDeDesempenho(Environment environment) {
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verificar() {
+        List<String> problemas = problemas();
+        if (problemas.isEmpty())
+            log.info("Executando com o perfil de desempenho");
+        else
+            log.warn("Configuracao inadequada para producao: {}", String.join("; ", problemas));
+    }
+
+    /**
+     * Lista as configurações que diferem do perfil de desempenho.
+     * <p>
+     * As configurações do JPA não são verificadas no perfil "reativo", que não usa o JPA.
+     * </p>
+     *
+     * @return a descrição de cada problema encontrado, ou uma lista vazia se não houver nenhum
+     */
+    List<String> problemas() {
+        List<String> problemas = new ArrayList<>();
+        if (!environment.acceptsProfiles(Profiles.of(PERFIL)))
+            problemas.add("perfil \"" + PERFIL + "\" inativo");
+        if (environment.acceptsProfiles(Profiles.of("reativo")))
+            return problemas;
+
+        if (environment.getProperty("spring.jpa.show-sql", Boolean.class, false))
+            problemas.add("spring.jpa.show-sql=true");
+        if (environment.getProperty("spring.jpa.properties.hibernate.format_sql", Boolean.class, false))
+            problemas.add("hibernate.format_sql=true");
+        String ddlAuto = environment.getProperty("spring.jpa.hibernate.ddl-auto", "none");
+        if (!DDL_AUTO_PERMITIDOS.contains(ddlAuto))
+            problemas.add("spring.jpa.hibernate.ddl-auto=" + ddlAuto);
+        return problemas;
+    }
+}
@@ -0,0 +1,46 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import io.r2dbc.spi.R2dbcException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Utilitário para identificar a causa das violações de integridade nas duas pilhas.
+ * <p>
+ * Concentra a verificação da constraint de nome único, para que o JPA e o R2DBC convertam a mesma falha na mesma
+ * resposta, e as demais violações, como de tamanho ou de campo obrigatório, continuem sendo propagadas.
+ * </p>
+ */
+public final class ViolacaoDeIntegridade {
+
+    private static final String NOME_UNICO = "nome_unique";
+    private static final String VIOLACAO_DE_UNICIDADE = "23505";
+
+    private ViolacaoDeIntegridade() {
+    }
+
+    /**
+     * Verifica se a violação de integridade foi causada pela constraint de nome único.
+     * <p>
+     * Além do nome da constraint, aceita o SQLState de violação de unicidade, já que o nome é a única coluna
+     * única preenchida pela aplicação. Reconhece tanto a exceção do Hibernate quanto a do driver R2DBC.
+     * </p>
+     *
+     * @param e a exceção lançada na inserção
+     * @return true se a violação for de unicidade do nome
+     */
+    public static boolean violouNomeUnico(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao)
+                return NOME_UNICO.equalsIgnoreCase(violacao.getConstraintName())
+                        || VIOLACAO_DE_UNICIDADE.equals(violacao.getSQLState());
+            if (causa instanceof R2dbcException violacao)
+                return VIOLACAO_DE_UNICIDADE.equals(violacao.getSqlState()) || citaNomeUnico(violacao);
+        }
+        return citaNomeUnico(e);
+    }
+
+    private static boolean citaNomeUnico(Throwable e) {
+        return e.getMessage() != null && e.getMessage().contains(NOME_UNICO);
+    }
+}
@@ -1,32 +1,74 @@
 package danieltsuzuk.com.github.amedigital.controllers;
 
+import danieltsuzuk.com.github.amedigital.Utils.CursorPagina;
+import danieltsuzuk.com.github.amedigital.Utils.EtagPlaneta;
+import danieltsuzuk.com.github.amedigital.Utils.FormatoArquivo;
+import danieltsuzuk.com.github.amedigital.Utils.IdPlaneta;
+import danieltsuzuk.com.github.amedigital.dto.ImportacaoResponse;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaCursorResponse;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaLoteResponse;
 import danieltsuzuk.com.github.amedigital.dto.PlanetaRequest;
 import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
 import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import danieltsuzuk.com.github.amedigital.exceptions.FormatoInvalidoException;
+import danieltsuzuk.com.github.amedigital.services.ExportacaoService;
+import danieltsuzuk.com.github.amedigital.services.ImportacaoService;
 import danieltsuzuk.com.github.amedigital.services.PlanetaService;
 import danieltsuzuk.com.github.amedigital.specifications.PlanetaSpecification;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 /**
  * Controlador REST para a entidade Planeta.
  * <p>
  * Este controlador fornece endpoints para criar, buscar e listar planetas.
  * </p>
+ * <p>
+ * As buscas retornam um ETag e o cabeçalho Cache-Control configurado para cada endpoint. Quando o If-None-Match da
+ * requisição corresponde ao ETag, o Spring responde 304 (Not Modified) sem serializar o corpo.
+ * </p>
+ * <p>
+ * Cada endpoint gera um span filho do span da requisição HTTP, separando o tempo do endpoint do tempo dos filtros e
+ * da serialização.
+ * </p>
  */
+@Observed(name = "planetas.controlador")
 @RestController
 @RequestMapping("/planetas")
+@Profile("!reativo")
 public class PlanetaController {
 
     @Autowired
     private PlanetaService service;
 
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    @Value("${planetas.http.cache-control.planeta:no-cache}")
+    private String cacheControlPlaneta;
+
+    @Value("${planetas.http.cache-control.listagem:no-cache}")
+    private String cacheControlListagem;
+
     /**
      * Endpoint para criar um novo planeta.
      * <p>
@@ -42,51 +84,183 @@ public class PlanetaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Endpoint para criar vários planetas de uma só vez.
+     * <p>
+     * Recebe uma lista de PlanetaRequest e retorna o resultado de cada item. Os itens inválidos ou com nome já
+     * cadastrado não impedem a criação dos demais.
+     * </p>
+     *
+     * @param requests a lista de DTOs com os dados dos planetas a serem criados
+     * @return o resultado de cada item, com o status HTTP 201 (Created) se todos forem criados ou
+     * 207 (Multi-Status) se algum falhar
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<PlanetaLoteResponse> criarEmLote(@RequestBody List<PlanetaRequest> requests) {
+        PlanetaLoteResponse response = service.criarEmLote(requests);
+        HttpStatus status = response.getFalhas() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    /**
+     * Endpoint para importar um arquivo de planetas em NDJSON ou CSV.
+     * <p>
+     * O corpo da requisição é lido em fluxo, linha a linha, e os planetas são criados em blocos. O formato é definido
+     * pelo Content-Type: application/x-ndjson, com um PlanetaRequest por linha, ou text/csv, com um cabeçalho contendo
+     * as colunas nome, clima e terreno.
+     * </p>
+     *
+     * @param entrada     o conteúdo do arquivo
+     * @param tipo        o tipo de conteúdo do arquivo
+     * @param retomarApos o checkpoint de uma importação anterior interrompida, ou 0 para importar o arquivo inteiro
+     * @return o resumo da importação, com o status HTTP 200 (OK) se o arquivo foi lido até o fim ou
+     * 500 (Internal Server Error) se a importação foi interrompida
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportacaoResponse> importar(InputStream entrada,
+                                                       @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType tipo,
+                                                       @RequestParam(defaultValue = "0") long retomarApos) {
+        ImportacaoResponse response = importacaoService.importar(entrada, tipo, retomarApos);
+        HttpStatus status = response.isConcluida() ? HttpStatus.OK : HttpStatus.INTERNAL_SERVER_ERROR;
+        return ResponseEntity.status(status).body(response);
+    }
+
+    /**
+     * Endpoint para exportar todos os planetas em NDJSON ou CSV.
+     * <p>
+     * Os planetas são escritos diretamente na resposta, à medida que são lidos do banco, sem paginação e sem que a
+     * lista completa seja montada em memória. A escrita acontece na própria thread da requisição.
+     * </p>
+     *
+     * @param formato  o formato da exportação, ndjson (padrão) ou csv
+     * @param response a resposta HTTP onde os planetas serão escritos
+     * @throws IOException se não for possível obter a saída da resposta
+     * @throws FormatoInvalidoException se o formato não for ndjson nem csv
+     */
+    @GetMapping("/export")
+    public void exportar(@RequestParam(defaultValue = "ndjson") String formato, HttpServletResponse response) throws IOException {
+        FormatoArquivo formatoArquivo = FormatoArquivo.porNome(formato);
+        if (formatoArquivo == null)
+            throw new FormatoInvalidoException("Formato deve ser ndjson ou csv");
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(formatoArquivo.getTipo().toString());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"planetas." + formatoArquivo.name().toLowerCase() + "\"");
+        exportacaoService.exportar(response.getOutputStream(), formatoArquivo);
+    }
+
     /**
      * Endpoint para buscar um planeta pelo seu ID ou nome.
      * <p>
-     * O valor da variável de caminho pode ser um ID ou um nome. O método tenta converter a variável para Long.
-     * Se a conversão falhar, considera-se que a variável é um nome.
+     * O valor da variável de caminho pode ser um ID ou um nome. Se o {@link IdPlaneta} reconhecer a variável como um
+     * número inteiro, a busca é feita pelo ID; caso contrário, pelo nome, sem lançar exceção em nenhum dos casos. O
+     * ETag é formado pelo ID e pela versão do planeta, então uma busca atendida pelo cache de planetas com um
+     * If-None-Match atual não acessa o banco nem serializa o corpo. Os endpoints /id/{id} e /nome/{nome} fazem cada
+     * busca diretamente, e permitem buscar pelo nome um planeta cujo nome é um número.
      * </p>
      *
      * @param variavel o ID ou nome do planeta a ser buscado
-     * @return uma resposta com o planeta encontrado e o status HTTP 200 (OK)
+     * @return uma resposta com o planeta encontrado e o status HTTP 200 (OK), ou 304 (Not Modified) se o planeta não
+     * mudou desde o ETag informado
      */
     @GetMapping("/{variavel}")
     public ResponseEntity<PlanetaResponse> buscarPorIdOuNome(@PathVariable String variavel) {
-        Long id = null;
-        String nome = null;
-        try {
-            id = Long.parseLong(variavel);
-        } catch (RuntimeException e) {
-            nome = variavel;
-        }
-
-        if (id != null) {
-            PlanetaResponse response = service.buscarPorId(id);
-            return ResponseEntity.status(HttpStatus.OK).body(response);
-        }else  {
-            PlanetaResponse response = service.buscarPorNome(nome);
-            return ResponseEntity.status(HttpStatus.OK).body(response);
-        }
+        if (IdPlaneta.ehId(variavel))
+            return buscarPorId(Long.parseLong(variavel));
+        return buscarPorNome(variavel);
+    }
+
+    /**
+     * Endpoint para buscar um planeta pelo seu ID.
+     *
+     * @param id o ID do planeta a ser buscado
+     * @return uma resposta com o planeta encontrado e o status HTTP 200 (OK), ou 304 (Not Modified) se o planeta não
+     * mudou desde o ETag informado
+     * @throws PlanetaNaoEncontradoException se o planeta não for encontrado
+     */
+    @GetMapping("/id/{id}")
+    public ResponseEntity<PlanetaResponse> buscarPorId(@PathVariable Long id) {
+        PlanetaResponse response = service.buscarPorId(id);
+        return respostaCondicional(response, EtagPlaneta.doPlaneta(response), cacheControlPlaneta);
+    }
+
+    /**
+     * Endpoint para buscar um planeta pelo seu nome.
+     * <p>
+     * O nome chega já decodificado da URL pelo Spring e é comparado exatamente, como na constraint nome_unique, que
+     * permite nomes que só diferem em maiúsculas e minúsculas.
+     * </p>
+     *
+     * @param nome o nome do planeta a ser buscado
+     * @return uma resposta com o planeta encontrado e o status HTTP 200 (OK), ou 304 (Not Modified) se o planeta não
+     * mudou desde o ETag informado
+     * @throws PlanetaNaoEncontradoException se o planeta não for encontrado
+     */
+    @GetMapping("/nome/{nome}")
+    public ResponseEntity<PlanetaResponse> buscarPorNome(@PathVariable String nome) {
+        PlanetaResponse response = service.buscarPorNome(nome);
+        return respostaCondicional(response, EtagPlaneta.doPlaneta(response), cacheControlPlaneta);
     }
 
     /**
      * Endpoint para buscar todos os planetas com paginação e filtragem.
      * <p>
-     * Permite a filtragem por ID e/ou nome do planeta, e suporta paginação.
+     * Permite a filtragem por ID e/ou nome do planeta, e suporta paginação. O nome é buscado sem diferenciar
+     * maiúsculas e minúsculas, no modo indicado pelo parâmetro busca.
      * </p>
      *
      * @param pageable os parâmetros de paginação
      * @param id o ID do planeta a ser filtrado (opcional)
      * @param nome o nome do planeta a ser filtrado (opcional)
-     * @return uma resposta com uma página de planetas encontrados e o status HTTP 200 (OK)
+     * @param busca o modo de busca do nome: contem (padrão) ou prefixo
+     * @return uma resposta com uma página de planetas encontrados e o status HTTP 200 (OK), ou 304 (Not Modified) se
+     * a página não mudou desde o ETag informado
      */
     @GetMapping
-    public ResponseEntity<Page<PlanetaResponse>> buscarTodos(Pageable pageable, @RequestParam(required = false) Long id, @RequestParam(required = false) String nome) {
-        Specification<Planeta> spec = Specification.where(PlanetaSpecification.likeNome(nome))
+    public ResponseEntity<Page<PlanetaResponse>> buscarTodos(Pageable pageable, @RequestParam(required = false) Long id, @RequestParam(required = false) String nome,
+                                                             @RequestParam(required = false) String busca) {
+        Specification<Planeta> spec = Specification.where(PlanetaSpecification.buscarNome(nome, PlanetaSpecification.ModoBusca.porNome(busca)))
                 .and(PlanetaSpecification.hasId(id));
-        return ResponseEntity.status(HttpStatus.OK).body(service.buscarTodos(spec, pageable));
+        Page<PlanetaResponse> pagina = service.buscarTodos(spec, pageable);
+        String etag = EtagPlaneta.daLista(pagina.getContent(), pagina.getTotalElements(), pagina.getNumber(),
+                pagina.getSize(), pagina.getSort());
+        return respostaCondicional(pagina, etag, cacheControlListagem);
+    }
+
+    /**
+     * Endpoint para buscar planetas com paginação por cursor.
+     * <p>
+     * Selecionado quando o parâmetro after está presente. Na primeira página after deve ser vazio e a ordenação pode
+     * ser escolhida entre id (padrão) e nome; nas seguintes, after recebe o proximoCursor da página anterior, que já
+     * carrega a ordenação. Aceita os mesmos filtros da listagem paginada, mas não informa o total de planetas.
+     * </p>
+     *
+     * @param after     o cursor retornado na página anterior, ou vazio para a primeira página
+     * @param size      a quantidade máxima de planetas na página
+     * @param ordenacao a coluna de ordenação da primeira página, id ou nome
+     * @param id        o ID do planeta a ser filtrado (opcional)
+     * @param nome      o nome do planeta a ser filtrado (opcional)
+     * @param busca     o modo de busca do nome: contem (padrão) ou prefixo
+     * @return uma resposta com a página de planetas e o cursor da próxima página e o status HTTP 200 (OK), ou
+     * 304 (Not Modified) se a página não mudou desde o ETag informado
+     */
+    @GetMapping(params = "after")
+    public ResponseEntity<PlanetaCursorResponse> buscarPorCursor(@RequestParam String after,
+                                                                 @RequestParam(defaultValue = "20") int size,
+                                                                 @RequestParam(defaultValue = "id") String ordenacao,
+                                                                 @RequestParam(required = false) Long id,
+                                                                 @RequestParam(required = false) String nome,
+                                                                 @RequestParam(required = false) String busca) {
+        CursorPagina cursor = after.isBlank()
+                ? CursorPagina.inicio(CursorPagina.Ordenacao.porNome(ordenacao))
+                : CursorPagina.decodificar(after);
+        Specification<Planeta> spec = Specification.where(PlanetaSpecification.buscarNome(nome, PlanetaSpecification.ModoBusca.porNome(busca)))
+                .and(PlanetaSpecification.hasId(id));
+        PlanetaCursorResponse pagina = service.buscarPorCursor(spec, cursor, size);
+        return respostaCondicional(pagina, EtagPlaneta.daLista(pagina.getConteudo(), pagina.getProximoCursor()),
+                cacheControlListagem);
     }
 
     /**
@@ -106,4 +280,19 @@ public class PlanetaController {
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
 
+    /**
+     * Monta a resposta de uma busca com o ETag e o Cache-Control informados.
+     *
+     * @param corpo        o corpo da resposta
+     * @param etag         o ETag do corpo
+     * @param cacheControl o valor do cabeçalho Cache-Control, ou vazio para não enviá-lo
+     * @return a resposta com o status HTTP 200 (OK)
+     */
+    private static <T> ResponseEntity<T> respostaCondicional(T corpo, String etag, String cacheControl) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.status(HttpStatus.OK).eTag(etag);
+        if (!cacheControl.isBlank())
+            resposta.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        return resposta.body(corpo);
+    }
+
 }
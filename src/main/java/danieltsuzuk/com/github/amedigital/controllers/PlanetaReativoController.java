@@ -0,0 +1,128 @@
+package danieltsuzuk.com.github.amedigital.controllers;
+
+import danieltsuzuk.com.github.amedigital.Utils.EtagPlaneta;
+import danieltsuzuk.com.github.amedigital.Utils.IdPlaneta;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaRequest;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.services.PlanetaReativoService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controlador REST reativo para a entidade Planeta.
+ * <p>
+ * Expõe os mesmos endpoints do {@link PlanetaController} quando o perfil "reativo" está ativo, sobre o
+ * WebFlux e o R2DBC, sem bloquear as threads do event loop. As buscas retornam ETag e Cache-Control da mesma forma.
+ * </p>
+ */
+@RestController
+@RequestMapping("/planetas")
+@Profile("reativo")
+public class PlanetaReativoController {
+
+    @Autowired
+    private PlanetaReativoService service;
+
+    @Value("${planetas.http.cache-control.planeta:no-cache}")
+    private String cacheControlPlaneta;
+
+    @Value("${planetas.http.cache-control.listagem:no-cache}")
+    private String cacheControlListagem;
+
+    /**
+     * Endpoint para criar um novo planeta.
+     *
+     * @param request o DTO com os dados do planeta a ser criado
+     * @return uma resposta com o planeta criado e o status HTTP 201 (Created)
+     */
+    @PostMapping
+    public Mono<ResponseEntity<PlanetaResponse>> criar(@Valid @RequestBody PlanetaRequest request) {
+        return service.criar(request)
+                .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
+    }
+
+    /**
+     * Endpoint para buscar um planeta pelo seu ID ou nome.
+     * <p>
+     * Se o {@link IdPlaneta} reconhecer a variável de caminho como um número inteiro, a busca é feita pelo ID; caso
+     * contrário, pelo nome.
+     * </p>
+     *
+     * @param variavel o ID ou nome do planeta a ser buscado
+     * @return uma resposta com o planeta encontrado e o status HTTP 200 (OK)
+     */
+    @GetMapping("/{variavel}")
+    public Mono<ResponseEntity<PlanetaResponse>> buscarPorIdOuNome(@PathVariable String variavel) {
+        if (IdPlaneta.ehId(variavel))
+            return buscarPorId(Long.parseLong(variavel));
+        return buscarPorNome(variavel);
+    }
+
+    /**
+     * Endpoint para buscar um planeta pelo seu ID.
+     *
+     * @param id o ID do planeta a ser buscado
+     * @return uma resposta com o planeta encontrado e o status HTTP 200 (OK)
+     */
+    @GetMapping("/id/{id}")
+    public Mono<ResponseEntity<PlanetaResponse>> buscarPorId(@PathVariable Long id) {
+        return service.buscarPorId(id)
+                .map(planeta -> respostaCondicional(planeta, EtagPlaneta.doPlaneta(planeta), cacheControlPlaneta));
+    }
+
+    /**
+     * Endpoint para buscar um planeta pelo seu nome.
+     *
+     * @param nome o nome do planeta a ser buscado
+     * @return uma resposta com o planeta encontrado e o status HTTP 200 (OK)
+     */
+    @GetMapping("/nome/{nome}")
+    public Mono<ResponseEntity<PlanetaResponse>> buscarPorNome(@PathVariable String nome) {
+        return service.buscarPorNome(nome)
+                .map(planeta -> respostaCondicional(planeta, EtagPlaneta.doPlaneta(planeta), cacheControlPlaneta));
+    }
+
+    /**
+     * Endpoint para buscar todos os planetas com paginação e filtragem.
+     *
+     * @param pageable os parâmetros de paginação
+     * @param id o ID do planeta a ser filtrado (opcional)
+     * @param nome o nome do planeta a ser filtrado (opcional)
+     * @return uma resposta com uma página de planetas encontrados e o status HTTP 200 (OK)
+     */
+    @GetMapping
+    public Mono<ResponseEntity<Page<PlanetaResponse>>> buscarTodos(Pageable pageable, @RequestParam(required = false) Long id, @RequestParam(required = false) String nome) {
+        return service.buscarTodos(id, nome, pageable)
+                .map(pagina -> respostaCondicional(pagina, EtagPlaneta.daLista(pagina.getContent(), pagina.getTotalElements(),
+                        pagina.getNumber(), pagina.getSize(), pagina.getSort()), cacheControlListagem));
+    }
+
+    /**
+     * Deleta um planeta pelo seu ID.
+     *
+     * @param id o ID do planeta a ser deletado
+     * @return uma resposta HTTP 204 (No Content) se a exclusão for bem-sucedida
+     */
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deletar(@PathVariable Long id) {
+        return service.deletar(id)
+                .then(Mono.just(ResponseEntity.status(HttpStatus.NO_CONTENT).<Void>build()));
+    }
+
+    private static <T> ResponseEntity<T> respostaCondicional(T corpo, String etag, String cacheControl) {
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.status(HttpStatus.OK).eTag(etag);
+        if (!cacheControl.isBlank())
+            resposta.header(HttpHeaders.CACHE_CONTROL, cacheControl);
+        return resposta.body(corpo);
+    }
+
+}
@@ -0,0 +1,33 @@
+package danieltsuzuk.com.github.amedigital.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumo de uma importação de planetas.
+ * <p>
+ * O checkpoint é o número da última linha de dados cujo bloco foi confirmado no banco. Uma importação interrompida
+ * pode ser retomada reenviando o mesmo arquivo com esse valor no parâmetro retomarApos.
+ * </p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportacaoResponse {
+
+    private boolean concluida;
+    private long linhasLidas;
+    private long criados;
+    private long falhas;
+    private long checkpoint;
+    private String mensagem;
+    private List<LinhaRejeitadaResponse> linhasRejeitadas = new ArrayList<>();
+
+    public ImportacaoResponse(long checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+}
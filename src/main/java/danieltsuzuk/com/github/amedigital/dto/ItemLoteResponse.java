@@ -0,0 +1,26 @@
+package danieltsuzuk.com.github.amedigital.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ItemLoteResponse {
+
+    private int indice;
+    private boolean criado;
+    private PlanetaResponse planeta;
+    private List<String> erros;
+
+    public static ItemLoteResponse criado(int indice, PlanetaResponse planeta) {
+        return new ItemLoteResponse(indice, true, planeta, List.of());
+    }
+
+    public static ItemLoteResponse falhou(int indice, List<String> erros) {
+        return new ItemLoteResponse(indice, false, null, erros);
+    }
+}
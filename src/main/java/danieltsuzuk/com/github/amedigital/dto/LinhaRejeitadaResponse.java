@@ -0,0 +1,16 @@
+package danieltsuzuk.com.github.amedigital.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LinhaRejeitadaResponse {
+
+    private long linha;
+    private List<String> erros;
+}
@@ -0,0 +1,17 @@
+package danieltsuzuk.com.github.amedigital.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlanetaCursorResponse {
+
+    private List<PlanetaResponse> conteudo;
+    private int tamanho;
+    private String proximoCursor;
+}
@@ -0,0 +1,27 @@
+package danieltsuzuk.com.github.amedigital.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlanetaLoteResponse {
+
+    private int criados;
+    private int falhas;
+    private List<ItemLoteResponse> itens;
+
+    public PlanetaLoteResponse(List<ItemLoteResponse> itens) {
+        this.itens = itens;
+        for (ItemLoteResponse item : itens) {
+            if (item.isCriado())
+                criados++;
+            else
+                falhas++;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package danieltsuzuk.com.github.amedigital.dto;
 
 import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import danieltsuzuk.com.github.amedigital.entities.PlanetaReativo;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -24,6 +25,18 @@ public class PlanetaRequest {
         return new Planeta(null, nome, clima, terreno, aparicoes);
     }
 
+    public PlanetaReativo criarPlanetaReativoComAparicoes(int aparicoes) {
+        return new PlanetaReativo(null, nome, clima, terreno, aparicoes);
+    }
+
+    public PlanetaReativo criarPlanetaReativoPendente() {
+        return PlanetaReativo.pendenteDeEnriquecimento(nome, clima, terreno);
+    }
+
+    public Planeta criarPlanetaPendente() {
+        return Planeta.pendenteDeEnriquecimento(nome, clima, terreno);
+    }
+
     @Override
     public String toString() {
         return "{\"nome\":\"" + nome + "\",\"clima\":\"" + clima + "\",\"terreno\":\"" + terreno + "\"}";
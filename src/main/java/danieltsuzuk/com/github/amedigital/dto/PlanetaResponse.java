@@ -1,11 +1,16 @@
 package danieltsuzuk.com.github.amedigital.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import danieltsuzuk.com.github.amedigital.entities.PlanetaReativo;
+import danieltsuzuk.com.github.amedigital.entities.StatusEnriquecimento;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
 @NoArgsConstructor
+@AllArgsConstructor
 public class PlanetaResponse {
 
     private Long id;
@@ -13,6 +18,10 @@ public class PlanetaResponse {
     private String clima;
     private String terreno;
     private int aparicoes;
+    private StatusEnriquecimento statusEnriquecimento;
+
+    @JsonIgnore
+    private long versao;
 
     public PlanetaResponse(Planeta planeta){
         this.id = planeta.getId();
@@ -20,6 +29,18 @@ public class PlanetaResponse {
         this.clima = planeta.getClima();
         this.terreno = planeta.getTerreno();
         this.aparicoes = planeta.getAparicoes();
+        this.statusEnriquecimento = planeta.getStatusEnriquecimento();
+        this.versao = planeta.getVersao();
+    }
+
+    public PlanetaResponse(PlanetaReativo planeta){
+        this.id = planeta.getId();
+        this.nome = planeta.getNome();
+        this.clima = planeta.getClima();
+        this.terreno = planeta.getTerreno();
+        this.aparicoes = planeta.getAparicoes();
+        this.statusEnriquecimento = planeta.getStatusEnriquecimento();
+        this.versao = planeta.getVersao();
     }
 
 }
@@ -1,18 +1,19 @@
 package danieltsuzuk.com.github.amedigital.entities;
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.Instant;
+
 @NoArgsConstructor
-@AllArgsConstructor
 @Getter
 @Entity(name = "planetas")
 public class Planeta {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "planetas_id_seq")
+    @SequenceGenerator(name = "planetas_id_seq", sequenceName = "planetas_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(length = 50, unique = true)
@@ -26,4 +27,48 @@ public class Planeta {
 
     private int aparicoes;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private StatusEnriquecimento statusEnriquecimento = StatusEnriquecimento.CONCLUIDO;
+
+    private int tentativasEnriquecimento;
+
+    private Instant proximaTentativaEnriquecimento;
+
+    @Version
+    private long versao;
+
+    public Planeta(Long id, String nome, String clima, String terreno, int aparicoes) {
+        this.id = id;
+        this.nome = nome;
+        this.clima = clima;
+        this.terreno = terreno;
+        this.aparicoes = aparicoes;
+    }
+
+    /**
+     * Cria um planeta ainda sem a quantidade de aparições, que será preenchida em segundo plano.
+     *
+     * @param nome    o nome do planeta
+     * @param clima   o clima do planeta
+     * @param terreno o terreno do planeta
+     * @return um planeta com o enriquecimento pendente
+     */
+    public static Planeta pendenteDeEnriquecimento(String nome, String clima, String terreno) {
+        Planeta planeta = new Planeta(null, nome, clima, terreno, 0);
+        planeta.statusEnriquecimento = StatusEnriquecimento.PENDENTE;
+        return planeta;
+    }
+
+    /**
+     * Cria uma cópia deste planeta ainda não persistida, para uma nova tentativa de inserção.
+     *
+     * @return uma cópia do planeta sem o ID
+     */
+    public Planeta copiaSemId() {
+        Planeta copia = new Planeta(null, nome, clima, terreno, aparicoes);
+        copia.statusEnriquecimento = statusEnriquecimento;
+        return copia;
+    }
+
 }
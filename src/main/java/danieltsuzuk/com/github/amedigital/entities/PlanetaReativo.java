@@ -0,0 +1,62 @@
+package danieltsuzuk.com.github.amedigital.entities;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * Mapeamento da tabela de planetas para o Spring Data R2DBC.
+ * <p>
+ * Usado apenas pela pilha reativa (perfil "reativo"); os campos correspondem às colunas da entidade {@link Planeta}.
+ * </p>
+ */
+@NoArgsConstructor
+@Getter
+@Table("planetas")
+public class PlanetaReativo {
+
+    @Id
+    private Long id;
+
+    private String nome;
+
+    private String clima;
+
+    private String terreno;
+
+    private int aparicoes;
+
+    private StatusEnriquecimento statusEnriquecimento = StatusEnriquecimento.CONCLUIDO;
+
+    private int tentativasEnriquecimento;
+
+    private Instant proximaTentativaEnriquecimento;
+
+    private long versao;
+
+    public PlanetaReativo(Long id, String nome, String clima, String terreno, int aparicoes) {
+        this.id = id;
+        this.nome = nome;
+        this.clima = clima;
+        this.terreno = terreno;
+        this.aparicoes = aparicoes;
+    }
+
+    /**
+     * Cria um planeta ainda sem a quantidade de aparições, que será preenchida em segundo plano.
+     *
+     * @param nome    o nome do planeta
+     * @param clima   o clima do planeta
+     * @param terreno o terreno do planeta
+     * @return um planeta com o enriquecimento pendente
+     */
+    public static PlanetaReativo pendenteDeEnriquecimento(String nome, String clima, String terreno) {
+        PlanetaReativo planeta = new PlanetaReativo(null, nome, clima, terreno, 0);
+        planeta.statusEnriquecimento = StatusEnriquecimento.PENDENTE;
+        return planeta;
+    }
+
+}
@@ -0,0 +1,22 @@
+package danieltsuzuk.com.github.amedigital.entities;
+
+/**
+ * Situação do enriquecimento de um planeta com a quantidade de aparições obtida na API do Star Wars.
+ */
+public enum StatusEnriquecimento {
+
+    /**
+     * O planeta foi salvo e aguarda a consulta à API externa.
+     */
+    PENDENTE,
+
+    /**
+     * A quantidade de aparições já foi obtida.
+     */
+    CONCLUIDO,
+
+    /**
+     * Todas as tentativas de consulta falharam.
+     */
+    FALHOU
+}
@@ -1,9 +1,28 @@
 package danieltsuzuk.com.github.amedigital.exceptions;
 
+import java.util.List;
+
+/**
+ * Exceção lançada quando a operação viola uma restrição do banco, como o nome único do planeta.
+ * <p>
+ * Assim como a {@link PlanetaNaoEncontradoException}, não captura a pilha de chamadas e já guarda a lista de erros
+ * do corpo da resposta, podendo ser compartilhada entre requisições.
+ * </p>
+ */
 public class BancoDeDadosException extends RuntimeException {
 
+    private final List<String> erros;
+
     public BancoDeDadosException(String mensagem) {
-        super(mensagem);
+        super(mensagem, null, false, false);
+        this.erros = List.of(mensagem);
+    }
+
+    /**
+     * @return a lista imutável de erros para o corpo da resposta
+     */
+    public List<String> getErros() {
+        return erros;
     }
 
 }
@@ -0,0 +1,21 @@
+package danieltsuzuk.com.github.amedigital.exceptions;
+
+import java.util.List;
+
+public class FormatoInvalidoException extends RuntimeException {
+
+    private final List<String> erros;
+
+    public FormatoInvalidoException(String mensagem) {
+        super(mensagem);
+        this.erros = List.of(mensagem);
+    }
+
+    /**
+     * @return a lista imutável de erros para o corpo da resposta
+     */
+    public List<String> getErros() {
+        return erros;
+    }
+
+}
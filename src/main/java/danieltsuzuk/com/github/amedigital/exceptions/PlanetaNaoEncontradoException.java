@@ -1,7 +1,28 @@
 package danieltsuzuk.com.github.amedigital.exceptions;
 
+import java.util.List;
+
+/**
+ * Exceção lançada quando o planeta buscado não existe.
+ * <p>
+ * Faz parte do fluxo normal das buscas e é respondida com o status 404, por isso não captura a pilha de chamadas,
+ * e a lista de erros do corpo da resposta é montada uma única vez, na criação da exceção. Sem pilha e sem estado
+ * mutável, a mesma instância pode ser lançada por várias requisições ao mesmo tempo.
+ * </p>
+ */
 public class PlanetaNaoEncontradoException extends RuntimeException {
+
+    private final List<String> erros;
+
     public PlanetaNaoEncontradoException(String mensagem) {
-        super(mensagem);
+        super(mensagem, null, false, false);
+        this.erros = List.of(mensagem);
+    }
+
+    /**
+     * @return a lista imutável de erros para o corpo da resposta
+     */
+    public List<String> getErros() {
+        return erros;
     }
 }
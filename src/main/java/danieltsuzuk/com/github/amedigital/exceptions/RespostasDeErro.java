@@ -0,0 +1,61 @@
+package danieltsuzuk.com.github.amedigital.exceptions;
+
+import danieltsuzuk.com.github.amedigital.dto.ErroResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Monta as respostas de erro e conta as exceções tratadas, para os tratadores das duas pilhas.
+ * <p>
+ * Cada classe de exceção é tratada sempre com o mesmo status, então o status e o contador da métrica planetas.erros
+ * são preparados uma vez por classe e reaproveitados. A lista de erros vem pronta da exceção, e a cada erro só são
+ * preenchidos o horário e o caminho da requisição.
+ * </p>
+ */
+@Component
+public class RespostasDeErro {
+
+    private final MeterRegistry registry;
+    private final Map<Class<?>, Modelo> modelos = new ConcurrentHashMap<>();
+
+    public RespostasDeErro(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Conta a exceção e monta a resposta de erro.
+     *
+     * @param e       a exceção tratada
+     * @param status  o status da resposta, sempre o mesmo para a classe da exceção
+     * @param erros   a lista de erros do corpo da resposta
+     * @param caminho o caminho da requisição
+     * @return a resposta com o status e o corpo de erro
+     */
+    public ResponseEntity<Object> responder(Exception e, HttpStatus status, List<String> erros, String caminho) {
+        Modelo modelo = modelo(e.getClass(), status);
+        modelo.contador().increment();
+        return ResponseEntity.status(modelo.status()).body(new ErroResponse(new Date(), modelo.codigo(), erros, caminho));
+    }
+
+    private Modelo modelo(Class<?> classe, HttpStatus status) {
+        Modelo modelo = modelos.get(classe);
+        if (modelo == null)
+            modelo = modelos.computeIfAbsent(classe, c -> new Modelo(status, status.value(), Counter.builder("planetas.erros")
+                    .tag("tipo", c.getSimpleName())
+                    .tag("status", String.valueOf(status.value()))
+                    .description("Excecoes tratadas e convertidas em respostas de erro")
+                    .register(registry)));
+        return modelo;
+    }
+
+    private record Modelo(HttpStatus status, Integer codigo, Counter contador) {
+    }
+}
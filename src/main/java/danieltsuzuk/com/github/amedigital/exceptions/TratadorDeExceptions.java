@@ -1,7 +1,8 @@
 package danieltsuzuk.com.github.amedigital.exceptions;
 
-import danieltsuzuk.com.github.amedigital.dto.ErroResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -10,40 +11,54 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Date;
 import java.util.List;
 
 @RestControllerAdvice
+@Profile("!reativo")
 public class TratadorDeExceptions {
 
+    @Autowired
+    private RespostasDeErro respostas;
+
     @ExceptionHandler(BancoDeDadosException.class)
     public ResponseEntity<Object> bancoDeDadosException(HttpServletRequest request, BancoDeDadosException e) {
-        HttpStatus status = HttpStatus.BAD_REQUEST;
-        ErroResponse erro = new ErroResponse(new Date(), status.value(), Arrays.asList(e.getMessage()), request.getRequestURI());
+        return respostas.responder(e, HttpStatus.BAD_REQUEST, e.getErros(), request.getRequestURI());
+    }
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(erro);
+    @ExceptionHandler(LoteInvalidoException.class)
+    public ResponseEntity<Object> loteInvalidoException(HttpServletRequest request, LoteInvalidoException e) {
+        return respostas.responder(e, HttpStatus.BAD_REQUEST, e.getErros(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(FormatoInvalidoException.class)
+    public ResponseEntity<Object> formatoInvalidoException(HttpServletRequest request, FormatoInvalidoException e) {
+        return respostas.responder(e, HttpStatus.BAD_REQUEST, e.getErros(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(PaginacaoInvalidaException.class)
+    public ResponseEntity<Object> paginacaoInvalidaException(HttpServletRequest request, PaginacaoInvalidaException e) {
+        return respostas.responder(e, HttpStatus.BAD_REQUEST, e.getErros(), request.getRequestURI());
+    }
+
+    @ExceptionHandler(BuscaInvalidaException.class)
+    public ResponseEntity<Object> buscaInvalidaException(HttpServletRequest request, BuscaInvalidaException e) {
+        return respostas.responder(e, HttpStatus.BAD_REQUEST, e.getErros(), request.getRequestURI());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Object> methodArgumentNotValidException(HttpServletRequest request, MethodArgumentNotValidException e) {
-        HttpStatus status = HttpStatus.BAD_REQUEST;
         List<String> listaErros = new ArrayList<>();
-        ErroResponse erro = new ErroResponse(new Date(), status.value(), listaErros, request.getRequestURI());
 
         for (FieldError error : e.getFieldErrors()) {
             listaErros.add(error.getField() + ": " +error.getDefaultMessage());
         }
 
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(erro);
+        return respostas.responder(e, HttpStatus.BAD_REQUEST, listaErros, request.getRequestURI());
     }
 
     @ExceptionHandler(PlanetaNaoEncontradoException.class)
     public ResponseEntity<Object> bancoDeDadosException(HttpServletRequest request, PlanetaNaoEncontradoException e) {
-        HttpStatus status = HttpStatus.NOT_FOUND;
-        ErroResponse erro = new ErroResponse(new Date(), status.value(), Arrays.asList(e.getMessage()), request.getRequestURI());
-
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(erro);
+        return respostas.responder(e, HttpStatus.NOT_FOUND, e.getErros(), request.getRequestURI());
     }
 
 }
@@ -0,0 +1,44 @@
+package danieltsuzuk.com.github.amedigital.exceptions;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RestControllerAdvice
+@Profile("reativo")
+public class TratadorDeExceptionsReativo {
+
+    @Autowired
+    private RespostasDeErro respostas;
+
+    @ExceptionHandler(BancoDeDadosException.class)
+    public ResponseEntity<Object> bancoDeDadosException(ServerHttpRequest request, BancoDeDadosException e) {
+        return respostas.responder(e, HttpStatus.BAD_REQUEST, e.getErros(), request.getPath().value());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Object> webExchangeBindException(ServerHttpRequest request, WebExchangeBindException e) {
+        List<String> listaErros = new ArrayList<>();
+
+        for (FieldError error : e.getFieldErrors()) {
+            listaErros.add(error.getField() + ": " +error.getDefaultMessage());
+        }
+
+        return respostas.responder(e, HttpStatus.BAD_REQUEST, listaErros, request.getPath().value());
+    }
+
+    @ExceptionHandler(PlanetaNaoEncontradoException.class)
+    public ResponseEntity<Object> planetaNaoEncontradoException(ServerHttpRequest request, PlanetaNaoEncontradoException e) {
+        return respostas.responder(e, HttpStatus.NOT_FOUND, e.getErros(), request.getPath().value());
+    }
+
+}
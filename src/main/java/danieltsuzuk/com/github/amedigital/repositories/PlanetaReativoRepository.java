@@ -0,0 +1,96 @@
+package danieltsuzuk.com.github.amedigital.repositories;
+
+import danieltsuzuk.com.github.amedigital.entities.PlanetaReativo;
+import danieltsuzuk.com.github.amedigital.entities.StatusEnriquecimento;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Interface para o repositório reativo de Planeta.
+ * <p>
+ * Equivalente ao {@link PlanetaRepository} para a pilha reativa, com acesso ao banco via R2DBC.
+ * </p>
+ */
+@Repository
+public interface PlanetaReativoRepository extends R2dbcRepository<PlanetaReativo, Long>, PlanetaReativoRepositoryBuscas {
+
+    /**
+     * Busca um planeta pelo nome.
+     *
+     * @param nome o nome do planeta a ser buscado
+     * @return um Mono com o planeta encontrado, ou vazio se nenhum planeta for encontrado
+     */
+    Mono<PlanetaReativo> findByNome(String nome);
+
+    /**
+     * Busca um lote de planetas com enriquecimento pendente cuja próxima tentativa já pode ser feita.
+     *
+     * @param agora  o instante atual
+     * @param limite o tamanho do lote a ser buscado
+     * @return os planetas pendentes, em ordem de criação
+     */
+    @Query("select * from planetas where status_enriquecimento = 'PENDENTE' " +
+            "and (proxima_tentativa_enriquecimento is null or proxima_tentativa_enriquecimento <= :agora) " +
+            "order by id limit :limite")
+    Flux<PlanetaReativo> buscarPendentesDeEnriquecimento(Instant agora, int limite);
+
+    /**
+     * Conta os planetas com o status de enriquecimento informado.
+     *
+     * @param status o status de enriquecimento
+     * @return um Mono com a quantidade de planetas com o status
+     */
+    Mono<Long> countByStatusEnriquecimento(StatusEnriquecimento status);
+
+    /**
+     * Registra a quantidade de aparições de um planeta pendente e conclui o seu enriquecimento.
+     *
+     * @param id        o ID do planeta
+     * @param aparicoes a quantidade de aparições obtida
+     * @return um Mono com a quantidade de linhas alteradas, zero se o planeta não estiver mais pendente
+     */
+    @Modifying
+    @Query("update planetas set aparicoes = :aparicoes, status_enriquecimento = 'CONCLUIDO', " +
+            "proxima_tentativa_enriquecimento = null, versao = versao + 1 " +
+            "where id = :id and status_enriquecimento = 'PENDENTE'")
+    Mono<Integer> concluirEnriquecimento(Long id, int aparicoes);
+
+    /**
+     * Registra uma tentativa de enriquecimento que falhou.
+     *
+     * @param id                o ID do planeta
+     * @param status            o nome do novo status, PENDENTE para tentar novamente ou FALHOU para desistir
+     * @param tentativas        a quantidade de tentativas feitas
+     * @param proximaTentativa  o instante da próxima tentativa, ou null ao desistir
+     * @return um Mono com a quantidade de linhas alteradas, zero se o planeta não estiver mais pendente
+     */
+    @Modifying
+    @Query("update planetas set status_enriquecimento = :status, tentativas_enriquecimento = :tentativas, " +
+            "proxima_tentativa_enriquecimento = :proximaTentativa, versao = versao + 1 " +
+            "where id = :id and status_enriquecimento = 'PENDENTE'")
+    Mono<Integer> registrarFalhaDeEnriquecimento(Long id, String status, int tentativas, Instant proximaTentativa);
+
+    /**
+     * Busca uma página de planetas.
+     *
+     * @param pageable os parâmetros de paginação
+     * @return os planetas da página
+     */
+    Flux<PlanetaReativo> findAllBy(Pageable pageable);
+
+    /**
+     * Conta os planetas cujo lower(nome) corresponda ao padrão do LIKE.
+     *
+     * @param padrao o padrão montado por {@link danieltsuzuk.com.github.amedigital.Utils.NomePlaneta#padraoDeBusca}
+     * @return um Mono com a quantidade de planetas
+     */
+    @Query("select count(*) from planetas where lower(nome) like :padrao escape '\\'")
+    Mono<Long> contarPorPadraoDoNome(String padrao);
+}
@@ -0,0 +1,24 @@
+package danieltsuzuk.com.github.amedigital.repositories;
+
+import danieltsuzuk.com.github.amedigital.entities.PlanetaReativo;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+
+/**
+ * Buscas do {@link PlanetaReativoRepository} que não podem ser derivadas do nome do método.
+ * <p>
+ * As consultas com {@code @Query} do Spring Data R2DBC não aplicam a ordenação nem a paginação do {@link Pageable},
+ * por isso a busca por nome, que precisa comparar lower(nome) como a pilha servlet, é montada à parte.
+ * </p>
+ */
+public interface PlanetaReativoRepositoryBuscas {
+
+    /**
+     * Busca uma página de planetas cujo lower(nome) corresponda ao padrão do LIKE.
+     *
+     * @param padrao   o padrão montado por {@link danieltsuzuk.com.github.amedigital.Utils.NomePlaneta#padraoDeBusca}
+     * @param pageable os parâmetros de paginação
+     * @return os planetas da página
+     */
+    Flux<PlanetaReativo> buscarPorPadraoDoNome(String padrao, Pageable pageable);
+}
@@ -0,0 +1,55 @@
+package danieltsuzuk.com.github.amedigital.repositories;
+
+import danieltsuzuk.com.github.amedigital.entities.PlanetaReativo;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import reactor.core.publisher.Flux;
+
+import java.util.StringJoiner;
+
+/**
+ * Implementação das buscas de {@link PlanetaReativoRepositoryBuscas}.
+ * <p>
+ * A consulta é escrita em SQL, com a comparação sobre lower(nome), a mesma expressão do índice de trigramas, e as
+ * propriedades da ordenação são convertidas nas colunas mapeadas da entidade, o que recusa propriedades
+ * desconhecidas em vez de concatená-las ao SQL.
+ * </p>
+ */
+public class PlanetaReativoRepositoryBuscasImpl implements PlanetaReativoRepositoryBuscas {
+
+    private static final String SELECAO_POR_NOME = "select * from planetas where lower(nome) like :padrao escape '\\'";
+
+    private final R2dbcEntityTemplate template;
+
+    public PlanetaReativoRepositoryBuscasImpl(R2dbcEntityTemplate template) {
+        this.template = template;
+    }
+
+    @Override
+    public Flux<PlanetaReativo> buscarPorPadraoDoNome(String padrao, Pageable pageable) {
+        StringBuilder sql = new StringBuilder(SELECAO_POR_NOME).append(ordenacao(pageable.getSort()));
+        if (pageable.isPaged())
+            sql.append(" limit ").append(pageable.getPageSize()).append(" offset ").append(pageable.getOffset());
+
+        return template.getDatabaseClient().sql(sql.toString())
+                .bind("padrao", padrao)
+                .map((linha, metadados) -> template.getConverter().read(PlanetaReativo.class, linha, metadados))
+                .all();
+    }
+
+    private String ordenacao(Sort sort) {
+        if (sort.isUnsorted())
+            return "";
+
+        RelationalPersistentEntity<?> entidade = template.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(PlanetaReativo.class);
+        StringJoiner colunas = new StringJoiner(", ", " order by ", "");
+        for (Sort.Order ordem : sort) {
+            String coluna = entidade.getRequiredPersistentProperty(ordem.getProperty()).getColumnName().getReference();
+            colunas.add(coluna + (ordem.isAscending() ? " asc" : " desc"));
+        }
+        return colunas.toString();
+    }
+}
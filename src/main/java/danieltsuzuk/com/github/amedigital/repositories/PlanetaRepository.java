@@ -1,11 +1,28 @@
 package danieltsuzuk.com.github.amedigital.repositories;
 
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
 import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import danieltsuzuk.com.github.amedigital.entities.StatusEnriquecimento;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Interface para o repositório de Planeta.
@@ -14,11 +31,17 @@ import java.util.Optional;
  * e funcionalidades de especificação para a entidade Planeta.
  * </p>
  * <p>
+ * As buscas usadas apenas para leitura retornam o {@link PlanetaResponse} direto da consulta, sem criar
+ * entidades gerenciadas, e rodam em transações somente leitura; elas estão em {@link PlanetaRepositoryProjecoes}.
+ * </p>
+ * <p>
  * A anotação @Repository indica que esta interface é um repositório Spring Data JPA.
  * </p>
  */
 @Repository
-public interface PlanetaRepository extends JpaRepository<Planeta, Long>, JpaSpecificationExecutor<Planeta> {
+public interface PlanetaRepository extends JpaRepository<Planeta, Long>, JpaSpecificationExecutor<Planeta>,
+        PlanetaRepositoryProjecoes {
+
 
     /**
      * Verifica se um planeta com o nome especificado existe.
@@ -35,4 +58,97 @@ public interface PlanetaRepository extends JpaRepository<Planeta, Long>, JpaSpec
      * @return um Optional contendo o planeta encontrado, ou um Optional vazio se nenhum planeta for encontrado
      */
     Optional<Planeta> findByNome(String nome);
+
+
+    /**
+     * Busca, entre os nomes informados, os que já pertencem a algum planeta cadastrado.
+     *
+     * @param nomes os nomes a serem verificados
+     * @return os nomes já cadastrados
+     */
+    @Query("select p.nome from planetas p where p.nome in :nomes")
+    Set<String> buscarNomesExistentes(Collection<String> nomes);
+
+    /**
+     * Percorre os dados de resposta de todos os planetas em ordem de ID por meio de um cursor do banco.
+     * <p>
+     * As linhas são lidas em blocos do tamanho do fetch size, e não todas de uma vez, e não passam pelo contexto de
+     * persistência. O Stream deve ser consumido e fechado dentro de uma transação, já que o driver do PostgreSQL só
+     * usa cursor com o autocommit desligado.
+     * </p>
+     *
+     * @return um Stream com todos os planetas
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query(PlanetaRepositoryProjecoes.SELECAO_RESPONSE + "order by p.id")
+    Stream<PlanetaResponse> percorrerTodos();
+
+    /**
+     * Percorre os nomes de todos os planetas por meio de um cursor do banco.
+     * <p>
+     * Assim como {@link #percorrerTodos()}, o Stream deve ser consumido e fechado dentro de uma transação.
+     * </p>
+     *
+     * @return um Stream com os nomes de todos os planetas
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "5000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select p.nome from planetas p")
+    Stream<String> percorrerNomes();
+
+    /**
+     * Busca os planetas com enriquecimento pendente cuja próxima tentativa já está liberada.
+     *
+     * @param agora    o instante atual
+     * @param pageable o tamanho do lote a ser buscado
+     * @return os planetas pendentes, em ordem de criação
+     */
+    @Query("select p from planetas p where p.statusEnriquecimento = danieltsuzuk.com.github.amedigital.entities.StatusEnriquecimento.PENDENTE " +
+            "and (p.proximaTentativaEnriquecimento is null or p.proximaTentativaEnriquecimento <= :agora) order by p.id")
+    List<Planeta> buscarPendentesDeEnriquecimento(Instant agora, Pageable pageable);
+
+    /**
+     * Conta os planetas com o status de enriquecimento informado.
+     *
+     * @param status o status de enriquecimento
+     * @return a quantidade de planetas com o status
+     */
+    long countByStatusEnriquecimento(StatusEnriquecimento status);
+
+    /**
+     * Registra a quantidade de aparições de um planeta pendente e conclui o seu enriquecimento.
+     *
+     * @param id        o ID do planeta
+     * @param aparicoes a quantidade de aparições obtida
+     * @return a quantidade de planetas atualizados
+     */
+    @Transactional
+    @Modifying
+    @Query("update planetas p set p.aparicoes = :aparicoes, " +
+            "p.statusEnriquecimento = danieltsuzuk.com.github.amedigital.entities.StatusEnriquecimento.CONCLUIDO, " +
+            "p.proximaTentativaEnriquecimento = null, p.versao = p.versao + 1 where p.id = :id " +
+            "and p.statusEnriquecimento = danieltsuzuk.com.github.amedigital.entities.StatusEnriquecimento.PENDENTE")
+    int concluirEnriquecimento(Long id, int aparicoes);
+
+    /**
+     * Registra uma tentativa de enriquecimento que falhou.
+     *
+     * @param id                o ID do planeta
+     * @param status            o novo status, PENDENTE para tentar novamente ou FALHOU para desistir
+     * @param tentativas        a quantidade de tentativas já realizadas
+     * @param proximaTentativa  o instante a partir do qual o planeta pode ser consultado novamente
+     * @return a quantidade de planetas atualizados
+     */
+    @Transactional
+    @Modifying
+    @Query("update planetas p set p.statusEnriquecimento = :status, p.tentativasEnriquecimento = :tentativas, " +
+            "p.proximaTentativaEnriquecimento = :proximaTentativa, p.versao = p.versao + 1 where p.id = :id " +
+            "and p.statusEnriquecimento = danieltsuzuk.com.github.amedigital.entities.StatusEnriquecimento.PENDENTE")
+    int registrarFalhaDeEnriquecimento(Long id, StatusEnriquecimento status, int tentativas, Instant proximaTentativa);
 }
@@ -0,0 +1,67 @@
+package danieltsuzuk.com.github.amedigital.repositories;
+
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Consultas de leitura que retornam diretamente o {@link PlanetaResponse}.
+ * <p>
+ * Diferente das consultas com entidades, como as do
+ * {@link org.springframework.data.jpa.repository.JpaSpecificationExecutor}, só as colunas da resposta são
+ * selecionadas, e nenhuma entidade é criada ou guardada no contexto de persistência.
+ * </p>
+ */
+public interface PlanetaRepositoryProjecoes {
+
+    /**
+     * Início das consultas JPQL que selecionam o {@link PlanetaResponse} de um planeta {@code p}.
+     */
+    String SELECAO_RESPONSE = "select new danieltsuzuk.com.github.amedigital.dto.PlanetaResponse(p.id, p.nome, " +
+            "p.clima, p.terreno, p.aparicoes, p.statusEnriquecimento, p.versao) from planetas p ";
+
+    /**
+     * Busca os dados de resposta de um planeta pelo ID.
+     * <p>
+     * Diferente das demais, carrega a entidade pela chave primária, que no Hibernate aloca menos que uma consulta com
+     * projeção, mas em uma sessão somente leitura que é fechada ao final da busca.
+     * </p>
+     *
+     * @param id o ID do planeta a ser buscado
+     * @return um Optional contendo o planeta encontrado, ou um Optional vazio se nenhum planeta for encontrado
+     */
+    Optional<PlanetaResponse> projetarPorId(Long id);
+
+    /**
+     * Busca os dados de resposta de um planeta pelo nome.
+     *
+     * @param nome o nome do planeta a ser buscado
+     * @return um Optional contendo o planeta encontrado, ou um Optional vazio se nenhum planeta for encontrado
+     */
+    Optional<PlanetaResponse> projetarPorNome(String nome);
+
+    /**
+     * Busca uma página de planetas de acordo com a especificação.
+     *
+     * @param spec     a especificação para filtrar os planetas
+     * @param pageable as informações de paginação e ordenação
+     * @return a página com os planetas encontrados
+     */
+    Page<PlanetaResponse> projetar(Specification<Planeta> spec, Pageable pageable);
+
+    /**
+     * Busca os primeiros planetas de acordo com a especificação e a ordenação, sem executar a consulta de contagem.
+     *
+     * @param spec       a especificação para filtrar os planetas
+     * @param ordenacao  a ordenação dos planetas
+     * @param quantidade a quantidade máxima de planetas
+     * @return os planetas encontrados
+     */
+    List<PlanetaResponse> projetar(Specification<Planeta> spec, Sort ordenacao, int quantidade);
+}
@@ -0,0 +1,108 @@
+package danieltsuzuk.com.github.amedigital.repositories;
+
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementação das consultas de {@link PlanetaRepositoryProjecoes}.
+ * <p>
+ * A busca por ID usa a carga pela chave primária do Hibernate, e a busca por nome usa JPQL direto no EntityManager,
+ * sem a camada de métodos de consulta do Spring Data, lendo a lista de resultados para que um planeta não
+ * encontrado não lance exceção. Nas buscas com especificação, a
+ * especificação é aplicada a uma consulta da Criteria API que seleciona o construtor do {@link PlanetaResponse}.
+ * Todas rodam em transações somente leitura, nas quais o Hibernate não faz flush nem verificação de alterações.
+ * </p>
+ */
+@Transactional(readOnly = true)
+public class PlanetaRepositoryProjecoesImpl implements PlanetaRepositoryProjecoes {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<PlanetaResponse> projetarPorId(Long id) {
+        // a carga pela chave primária aloca menos que qualquer consulta JPQL, e na sessão somente leitura a
+        // entidade não ganha cópia para a verificação de alterações
+        return Optional.ofNullable(entityManager.find(Planeta.class, id)).map(PlanetaResponse::new);
+    }
+
+    @Override
+    public Optional<PlanetaResponse> projetarPorNome(String nome) {
+        return primeiro(entityManager.createQuery(SELECAO_RESPONSE + "where p.nome = :nome", PlanetaResponse.class)
+                .setParameter("nome", nome));
+    }
+
+    @Override
+    public Page<PlanetaResponse> projetar(Specification<Planeta> spec, Pageable pageable) {
+        TypedQuery<PlanetaResponse> consulta = entityManager.createQuery(consultaProjetada(spec, pageable.getSort()));
+        if (pageable.isPaged()) {
+            consulta.setFirstResult((int) pageable.getOffset());
+            consulta.setMaxResults(pageable.getPageSize());
+        }
+        // a contagem só é executada quando não dá para deduzir o total pelo tamanho da página
+        return PageableExecutionUtils.getPage(consulta.getResultList(), pageable, () -> contar(spec));
+    }
+
+    @Override
+    public List<PlanetaResponse> projetar(Specification<Planeta> spec, Sort ordenacao, int quantidade) {
+        return entityManager.createQuery(consultaProjetada(spec, ordenacao))
+                .setMaxResults(quantidade)
+                .getResultList();
+    }
+
+    private static Optional<PlanetaResponse> primeiro(TypedQuery<PlanetaResponse> consulta) {
+        List<PlanetaResponse> planetas = consulta.getResultList();
+        return planetas.isEmpty() ? Optional.empty() : Optional.of(planetas.get(0));
+    }
+
+    private CriteriaQuery<PlanetaResponse> consultaProjetada(Specification<Planeta> spec, Sort ordenacao) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PlanetaResponse> consulta = builder.createQuery(PlanetaResponse.class);
+        Root<Planeta> planeta = consulta.from(Planeta.class);
+        consulta.select(builder.construct(PlanetaResponse.class,
+                planeta.get("id"),
+                planeta.get("nome"),
+                planeta.get("clima"),
+                planeta.get("terreno"),
+                planeta.get("aparicoes"),
+                planeta.get("statusEnriquecimento"),
+                planeta.get("versao")));
+        filtrar(consulta, planeta, builder, spec);
+        if (ordenacao.isSorted())
+            consulta.orderBy(QueryUtils.toOrders(ordenacao, planeta, builder));
+        return consulta;
+    }
+
+    private long contar(Specification<Planeta> spec) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> consulta = builder.createQuery(Long.class);
+        Root<Planeta> planeta = consulta.from(Planeta.class);
+        consulta.select(builder.count(planeta));
+        filtrar(consulta, planeta, builder, spec);
+        return entityManager.createQuery(consulta).getSingleResult();
+    }
+
+    private static void filtrar(CriteriaQuery<?> consulta, Root<Planeta> planeta, CriteriaBuilder builder,
+                                Specification<Planeta> spec) {
+        Predicate filtro = spec == null ? null : spec.toPredicate(planeta, consulta, builder);
+        if (filtro != null)
+            consulta.where(filtro);
+    }
+}
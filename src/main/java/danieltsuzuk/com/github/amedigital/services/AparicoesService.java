@@ -0,0 +1,196 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import danieltsuzuk.com.github.amedigital.Utils.NomePlaneta;
+import danieltsuzuk.com.github.amedigital.dto.StarWarsPlanetaResponse;
+import danieltsuzuk.com.github.amedigital.dto.StarWarsPlanetaResultados;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serviço responsável por obter a quantidade de aparições de um planeta nos filmes.
+ * <p>
+ * Consulta a API do Star Wars e mantém um cache local limitado, indexado pelo nome normalizado do planeta.
+ * São guardados tanto os planetas encontrados (com a quantidade de filmes) quanto as buscas sem correspondência,
+ * cada um com o seu próprio tempo de expiração.
+ * </p>
+ * <p>
+ * As chamadas externas passam por um bulkhead, que limita as consultas simultâneas, e por um circuit breaker, ambos
+ * configurados na instância "swapi" do Resilience4j. Se a API falhar, estiver lenta demais ou o circuito estiver
+ * aberto, a busca termina vazia, indicando que a quantidade de aparições é desconhecida no momento.
+ * </p>
+ * <p>
+ * Buscas simultâneas pelo mesmo nome normalizado compartilham uma única consulta em andamento, que é descartada assim
+ * que termina. Assim, rajadas de criações repetidas geram no máximo uma chamada externa por nome.
+ * </p>
+ */
+@Service
+public class AparicoesService {
+
+    /**
+     * Valor guardado no cache quando a API não possui um planeta com o nome buscado.
+     */
+    private static final int SEM_CORRESPONDENCIA = -1;
+
+    private static final String INSTANCIA_RESILIENCIA = "swapi";
+
+    private static final Logger log = LoggerFactory.getLogger(AparicoesService.class);
+
+    private final WebClient apiStarWars;
+    private final CatalogoPlanetasService catalogo;
+    private final Cache<String, Integer> cache;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Counter contingencias;
+    private final Counter coalescidas;
+    private final ConcurrentMap<String, Mono<StarWarsPlanetaResponse>> consultasEmAndamento = new ConcurrentHashMap<>();
+
+    public AparicoesService(WebClient apiStarWars,
+                            CatalogoPlanetasService catalogo,
+                            MeterRegistry registry,
+                            CircuitBreakerRegistry circuitBreakers,
+                            BulkheadRegistry bulkheads,
+                            @Value("${swapi.cache.ttl:PT6H}") Duration ttl,
+                            @Value("${swapi.cache.ttl-negativo:PT10M}") Duration ttlNegativo,
+                            @Value("${swapi.cache.tamanho-maximo:10000}") long tamanhoMaximo) {
+        this.apiStarWars = apiStarWars;
+        this.catalogo = catalogo;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new ExpiracaoPorResultado(ttl, ttlNegativo))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "swapi.aparicoes");
+        this.circuitBreaker = circuitBreakers.circuitBreaker(INSTANCIA_RESILIENCIA);
+        this.bulkhead = bulkheads.bulkhead(INSTANCIA_RESILIENCIA);
+        this.contingencias = Counter.builder("swapi.aparicoes.contingencia")
+                .description("Buscas de aparicoes que terminaram sem resposta da API do Star Wars")
+                .register(registry);
+        this.coalescidas = Counter.builder("swapi.aparicoes.coalescidas")
+                .description("Buscas de aparicoes atendidas por uma consulta ja em andamento para o mesmo nome")
+                .register(registry);
+    }
+
+    /**
+     * Busca a quantidade de aparições em filmes do planeta com o nome informado.
+     * <p>
+     * Se o nome estiver no catálogo pré-carregado ou no cache, o valor é retornado sem nenhuma chamada externa.
+     * Caso contrário, a API do Star Wars é consultada e o resultado é guardado no cache. Planetas sem
+     * correspondência retornam 0.
+     * </p>
+     *
+     * @param nome o nome do planeta
+     * @return um Mono com a quantidade de aparições do planeta, ou vazio se a API estiver indisponível
+     */
+    public Mono<Integer> buscarAparicoes(String nome) {
+        Integer doCatalogo = catalogo.buscarAparicoes(nome);
+        if (doCatalogo != null)
+            return Mono.just(doCatalogo);
+
+        String chave = NomePlaneta.normalizar(nome);
+        Integer emCache = cache.getIfPresent(chave);
+        if (emCache != null)
+            return Mono.just(paraAparicoes(emCache));
+
+        return consultaCompartilhada(chave, nome)
+                .map(resposta -> paraAparicoes(extrairAparicoes(resposta, nome)))
+                .defaultIfEmpty(0)
+                .onErrorResume(e -> {
+                    contingencias.increment();
+                    log.debug("API do Star Wars indisponivel para o planeta {}: {}", nome, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Retorna a consulta em andamento para o nome normalizado, ou inicia uma nova se não houver nenhuma.
+     * <p>
+     * A consulta iniciada grava o resultado no cache antes de sair do mapa de consultas em andamento, de modo que
+     * não existe intervalo em que o nome não esteja nem em andamento nem no cache.
+     * </p>
+     *
+     * @param chave o nome normalizado do planeta
+     * @param nome  o nome do planeta, como informado
+     * @return a consulta compartilhada por todas as buscas simultâneas do mesmo nome
+     */
+    private Mono<StarWarsPlanetaResponse> consultaCompartilhada(String chave, String nome) {
+        return Mono.defer(() -> {
+            boolean[] iniciada = {false};
+            Mono<StarWarsPlanetaResponse> consulta = consultasEmAndamento.computeIfAbsent(chave, k -> {
+                iniciada[0] = true;
+                return consultarApi(nome)
+                        .transformDeferred(BulkheadOperator.of(bulkhead))
+                        .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                        .doOnNext(resposta -> cache.put(k, extrairAparicoes(resposta, nome)))
+                        .doFinally(sinal -> consultasEmAndamento.remove(k))
+                        .cache();
+            });
+            if (!iniciada[0])
+                coalescidas.increment();
+            return consulta;
+        });
+    }
+
+    private Mono<StarWarsPlanetaResponse> consultarApi(String nome) {
+        return apiStarWars.get()
+                .uri("/planets/?search={nomePlaneta}", nome.trim())
+                .retrieve()
+                .bodyToMono(StarWarsPlanetaResponse.class);
+    }
+
+    private static int extrairAparicoes(StarWarsPlanetaResponse resposta, String nome) {
+        if (resposta.getResults() == null)
+            return SEM_CORRESPONDENCIA;
+
+        int aparicoes = SEM_CORRESPONDENCIA;
+        for (StarWarsPlanetaResultados planeta : resposta.getResults()) {
+            if (planeta.getName() != null && planeta.getName().equalsIgnoreCase(nome.trim()))
+                aparicoes = planeta.getFilms() == null ? 0 : planeta.getFilms().size();
+        }
+        return aparicoes;
+    }
+
+    private static int paraAparicoes(int resultado) {
+        return resultado == SEM_CORRESPONDENCIA ? 0 : resultado;
+    }
+
+    /**
+     * Política de expiração que aplica um tempo menor às buscas sem correspondência.
+     */
+    private record ExpiracaoPorResultado(Duration ttl, Duration ttlNegativo) implements Expiry<String, Integer> {
+
+        @Override
+        public long expireAfterCreate(String chave, Integer valor, long tempoAtual) {
+            return (valor == SEM_CORRESPONDENCIA ? ttlNegativo : ttl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, Integer valor, long tempoAtual, long duracaoAtual) {
+            return expireAfterCreate(chave, valor, tempoAtual);
+        }
+
+        @Override
+        public long expireAfterRead(String chave, Integer valor, long tempoAtual, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
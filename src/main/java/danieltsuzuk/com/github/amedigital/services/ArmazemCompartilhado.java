@@ -0,0 +1,61 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Armazenamento chave-valor compartilhado entre as instâncias da aplicação, com publicação de mensagens.
+ * <p>
+ * Usado como segundo nível do {@link PlanetaCache} e para avisar as demais instâncias sobre planetas criados,
+ * alterados e removidos. A implementação é escolhida pela propriedade planetas.cache.compartilhado.tipo:
+ * {@link ArmazemRedis} para um servidor compatível com o protocolo do Redis, ou {@link ArmazemEmMemoria} para
+ * testes e execução local com uma única instância.
+ * </p>
+ * <p>
+ * As operações podem lançar exceções quando o armazenamento está indisponível; quem as usa deve tratar o
+ * armazenamento como opcional e seguir com o banco de dados.
+ * </p>
+ */
+public interface ArmazemCompartilhado {
+
+    /**
+     * Busca o valor de uma chave.
+     *
+     * @param chave a chave
+     * @return o valor, ou null se a chave não existir ou tiver expirado
+     */
+    String buscar(String chave);
+
+    /**
+     * Grava o valor de uma chave, substituindo o anterior.
+     *
+     * @param chave a chave
+     * @param valor o valor
+     * @param ttl   o tempo até a chave expirar
+     */
+    void gravar(String chave, String valor, Duration ttl);
+
+    /**
+     * Remove as chaves informadas.
+     *
+     * @param chaves as chaves a serem removidas
+     */
+    void remover(String... chaves);
+
+    /**
+     * Publica uma mensagem para todos os assinantes do canal, inclusive os desta instância.
+     *
+     * @param canal    o canal
+     * @param mensagem a mensagem
+     */
+    void publicar(String canal, String mensagem);
+
+    /**
+     * Registra um ouvinte para as mensagens do canal. Os ouvintes não são chamados nas threads de I/O do
+     * armazenamento, então podem acessá-lo.
+     *
+     * @param canal   o canal
+     * @param ouvinte a função chamada com cada mensagem recebida
+     */
+    void assinar(String canal, Consumer<String> ouvinte);
+}
@@ -0,0 +1,66 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Implementação em memória do {@link ArmazemCompartilhado}.
+ * <p>
+ * Substitui o Redis nos testes e na execução local: várias instâncias do {@link PlanetaCache} que recebem o mesmo
+ * armazém se comportam como nós diferentes da aplicação. As mensagens são entregues na própria thread de quem
+ * publica, e as chaves expiradas são removidas quando lidas.
+ * </p>
+ */
+@Component
+@Profile("!reativo")
+@ConditionalOnProperty(name = "planetas.cache.compartilhado.tipo", havingValue = "memoria")
+public class ArmazemEmMemoria implements ArmazemCompartilhado {
+
+    private final Map<String, Entrada> valores = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<String>>> ouvintes = new ConcurrentHashMap<>();
+
+    @Override
+    public String buscar(String chave) {
+        Entrada entrada = valores.get(chave);
+        if (entrada == null)
+            return null;
+        if (entrada.expiraEm() <= System.nanoTime()) {
+            valores.remove(chave, entrada);
+            return null;
+        }
+        return entrada.valor();
+    }
+
+    @Override
+    public void gravar(String chave, String valor, Duration ttl) {
+        valores.put(chave, new Entrada(valor, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public void remover(String... chaves) {
+        for (String chave : chaves)
+            valores.remove(chave);
+    }
+
+    @Override
+    public void publicar(String canal, String mensagem) {
+        for (Consumer<String> ouvinte : ouvintes.getOrDefault(canal, List.of()))
+            ouvinte.accept(mensagem);
+    }
+
+    @Override
+    public void assinar(String canal, Consumer<String> ouvinte) {
+        ouvintes.computeIfAbsent(canal, c -> new CopyOnWriteArrayList<>()).add(ouvinte);
+    }
+
+    private record Entrada(String valor, long expiraEm) {
+    }
+}
@@ -0,0 +1,115 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Implementação do {@link ArmazemCompartilhado} sobre um servidor compatível com o protocolo do Redis.
+ * <p>
+ * Usa o cliente Lettuce com uma conexão para os comandos e outra para as assinaturas, ambas reconectadas
+ * automaticamente pelo cliente, que também refaz as assinaturas. Os comandos têm um tempo limite curto para que um
+ * servidor lento não atrase as buscas, que seguem para o banco de dados em caso de erro. As mensagens recebidas são
+ * entregues aos ouvintes em uma única thread própria, na ordem de chegada, fora das threads de I/O do Lettuce.
+ * </p>
+ */
+@Component
+@Profile("!reativo")
+@ConditionalOnProperty(name = "planetas.cache.compartilhado.tipo", havingValue = "redis")
+public class ArmazemRedis implements ArmazemCompartilhado {
+
+    private static final Logger log = LoggerFactory.getLogger(ArmazemRedis.class);
+
+    private final RedisClient cliente;
+    private final StatefulRedisConnection<String, String> conexao;
+    private final StatefulRedisPubSubConnection<String, String> conexaoAssinaturas;
+    private final RedisCommands<String, String> comandos;
+    private final Map<String, List<Consumer<String>>> ouvintes = new ConcurrentHashMap<>();
+    private final ExecutorService entregas = Executors.newSingleThreadExecutor(tarefa -> {
+        Thread thread = new Thread(tarefa, "armazem-redis-mensagens");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ArmazemRedis(@Value("${planetas.cache.compartilhado.redis.url:redis://localhost:6379}") String url,
+                        @Value("${planetas.cache.compartilhado.redis.timeout:PT0.5S}") Duration timeout) {
+        this.cliente = RedisClient.create(url);
+        this.cliente.setOptions(ClientOptions.builder()
+                .timeoutOptions(TimeoutOptions.enabled(timeout))
+                .build());
+        this.conexao = cliente.connect();
+        this.comandos = conexao.sync();
+        this.conexaoAssinaturas = cliente.connectPubSub();
+        this.conexaoAssinaturas.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void message(String canal, String mensagem) {
+                entregas.execute(() -> entregar(canal, mensagem));
+            }
+        });
+    }
+
+    @Override
+    public String buscar(String chave) {
+        return comandos.get(chave);
+    }
+
+    @Override
+    public void gravar(String chave, String valor, Duration ttl) {
+        comandos.set(chave, valor, SetArgs.Builder.px(ttl.toMillis()));
+    }
+
+    @Override
+    public void remover(String... chaves) {
+        comandos.del(chaves);
+    }
+
+    @Override
+    public void publicar(String canal, String mensagem) {
+        comandos.publish(canal, mensagem);
+    }
+
+    @Override
+    public void assinar(String canal, Consumer<String> ouvinte) {
+        ouvintes.computeIfAbsent(canal, c -> new CopyOnWriteArrayList<>()).add(ouvinte);
+        conexaoAssinaturas.sync().subscribe(canal);
+    }
+
+    @PreDestroy
+    public void fechar() {
+        entregas.shutdown();
+        conexaoAssinaturas.close();
+        conexao.close();
+        cliente.shutdown();
+    }
+
+    private void entregar(String canal, String mensagem) {
+        for (Consumer<String> ouvinte : ouvintes.getOrDefault(canal, List.of())) {
+            try {
+                ouvinte.accept(mensagem);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao processar a mensagem do canal {}: {}", canal, e.toString());
+            }
+        }
+    }
+}
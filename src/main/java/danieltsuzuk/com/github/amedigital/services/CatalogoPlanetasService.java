@@ -0,0 +1,95 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.Utils.NomePlaneta;
+import danieltsuzuk.com.github.amedigital.dto.StarWarsPlanetaResponse;
+import danieltsuzuk.com.github.amedigital.dto.StarWarsPlanetaResultados;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serviço que mantém em memória o catálogo completo de planetas da API do Star Wars.
+ * <p>
+ * Quando habilitado, percorre todas as páginas de /planets/ seguindo o link "next" de cada resposta e monta um
+ * índice de nome normalizado para quantidade de filmes. O índice é carregado logo após a inicialização e
+ * atualizado periodicamente em segundo plano, sendo substituído por inteiro a cada atualização.
+ * </p>
+ */
+@Service
+public class CatalogoPlanetasService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoPlanetasService.class);
+
+    private final WebClient apiStarWars;
+    private final boolean habilitado;
+
+    private volatile Map<String, Integer> aparicoesPorNome = Map.of();
+
+    public CatalogoPlanetasService(WebClient apiStarWars,
+                                   @Value("${swapi.catalogo.habilitado:false}") boolean habilitado) {
+        this.apiStarWars = apiStarWars;
+        this.habilitado = habilitado;
+    }
+
+    /**
+     * Busca no catálogo a quantidade de aparições do planeta com o nome informado.
+     *
+     * @param nome o nome do planeta
+     * @return a quantidade de aparições, ou null se o planeta não estiver no catálogo
+     */
+    public Integer buscarAparicoes(String nome) {
+        return aparicoesPorNome.get(NomePlaneta.normalizar(nome));
+    }
+
+    /**
+     * Carrega ou atualiza o catálogo de planetas.
+     * <p>
+     * Executado na inicialização e depois no intervalo configurado. Se a carga falhar, o catálogo anterior
+     * é mantido e as buscas desconhecidas continuam sendo feitas diretamente na API.
+     * </p>
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${swapi.catalogo.intervalo-atualizacao:PT12H}")
+    public void atualizar() {
+        if (!habilitado)
+            return;
+
+        try {
+            Map<String, Integer> catalogo = carregarCatalogo().block();
+            if (catalogo != null && !catalogo.isEmpty()) {
+                aparicoesPorNome = catalogo;
+                log.info("Catalogo de planetas da API do Star Wars carregado com {} planetas", catalogo.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao carregar o catalogo de planetas da API do Star Wars: {}", e.getMessage());
+        }
+    }
+
+    Mono<Map<String, Integer>> carregarCatalogo() {
+        return buscarPagina("/planets/")
+                .expand(pagina -> pagina.getNext() == null ? Mono.empty() : buscarPagina(pagina.getNext().toString()))
+                .filter(pagina -> pagina.getResults() != null)
+                .flatMapIterable(StarWarsPlanetaResponse::getResults)
+                .filter(planeta -> planeta.getName() != null)
+                .collect(HashMap<String, Integer>::new, (mapa, planeta) -> mapa.put(
+                        NomePlaneta.normalizar(planeta.getName()), quantidadeDeFilmes(planeta)))
+                .map(Map::copyOf);
+    }
+
+    private Mono<StarWarsPlanetaResponse> buscarPagina(String uri) {
+        return apiStarWars.get()
+                .uri(uri)
+                .retrieve()
+                .bodyToMono(StarWarsPlanetaResponse.class);
+    }
+
+    private static int quantidadeDeFilmes(StarWarsPlanetaResultados planeta) {
+        return planeta.getFilms() == null ? 0 : planeta.getFilms().size();
+    }
+}
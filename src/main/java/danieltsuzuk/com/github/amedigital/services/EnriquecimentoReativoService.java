@@ -0,0 +1,105 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.entities.PlanetaReativo;
+import danieltsuzuk.com.github.amedigital.entities.StatusEnriquecimento;
+import danieltsuzuk.com.github.amedigital.repositories.PlanetaReativoRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Equivalente ao {@link EnriquecimentoService} para o perfil "reativo".
+ * <p>
+ * Preenche em segundo plano a quantidade de aparições dos planetas salvos com o enriquecimento pendente pelo
+ * {@link PlanetaReativoService}, com as mesmas propriedades, a mesma espera exponencial entre as tentativas e a
+ * mesma métrica planetas.enriquecimento.pendentes. O lote é processado em um único fluxo, sem bloquear: o
+ * agendador aguarda o fim do fluxo antes de contar o intervalo para a próxima execução.
+ * </p>
+ */
+@Service
+@Profile("reativo")
+public class EnriquecimentoReativoService {
+
+    private static final Logger log = LoggerFactory.getLogger(EnriquecimentoReativoService.class);
+
+    private static final IllegalStateException API_INDISPONIVEL = new IllegalStateException("API do Star Wars indisponivel");
+
+    private final PlanetaReativoRepository repository;
+    private final AparicoesService aparicoesService;
+    private final int tamanhoLote;
+    private final int paralelismo;
+    private final int maximoTentativas;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final AtomicLong pendentes = new AtomicLong();
+
+    public EnriquecimentoReativoService(PlanetaReativoRepository repository,
+                                        AparicoesService aparicoesService,
+                                        MeterRegistry registry,
+                                        @Value("${planetas.enriquecimento.tamanho-lote:100}") int tamanhoLote,
+                                        @Value("${planetas.enriquecimento.paralelismo:8}") int paralelismo,
+                                        @Value("${planetas.enriquecimento.maximo-tentativas:8}") int maximoTentativas,
+                                        @Value("${planetas.enriquecimento.espera-inicial:PT10S}") Duration esperaInicial,
+                                        @Value("${planetas.enriquecimento.espera-maxima:PT30M}") Duration esperaMaxima) {
+        this.repository = repository;
+        this.aparicoesService = aparicoesService;
+        this.tamanhoLote = tamanhoLote;
+        this.paralelismo = paralelismo;
+        this.maximoTentativas = maximoTentativas;
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+        Gauge.builder("planetas.enriquecimento.pendentes", pendentes, AtomicLong::get)
+                .description("Quantidade de planetas aguardando a consulta de aparicoes")
+                .register(registry);
+    }
+
+    /**
+     * Processa um lote de planetas com enriquecimento pendente.
+     * <p>
+     * As consultas à API externa são feitas em paralelo, e o resultado de cada planeta é gravado assim que a sua
+     * consulta termina.
+     * </p>
+     *
+     * @return um Mono que termina depois de gravar o lote e atualizar a contagem de pendentes
+     */
+    @Scheduled(fixedDelayString = "${planetas.enriquecimento.intervalo:PT5S}")
+    public Mono<Void> processarPendentes() {
+        // o agendador chama o método uma única vez e assina o mesmo Mono a cada execução, então o instante atual
+        // precisa ser lido na assinatura
+        return Mono.defer(() -> repository.buscarPendentesDeEnriquecimento(Instant.now(), tamanhoLote)
+                .flatMap(planeta -> aparicoesService.buscarAparicoes(planeta.getNome())
+                        .flatMap(aparicoes -> repository.concluirEnriquecimento(planeta.getId(), aparicoes))
+                        .switchIfEmpty(Mono.defer(() -> registrarFalha(planeta, API_INDISPONIVEL)))
+                        .onErrorResume(e -> registrarFalha(planeta, e)), paralelismo)
+                .then(repository.countByStatusEnriquecimento(StatusEnriquecimento.PENDENTE))
+                .doOnNext(pendentes::set)
+                .then());
+    }
+
+    private Mono<Integer> registrarFalha(PlanetaReativo planeta, Throwable e) {
+        int tentativas = planeta.getTentativasEnriquecimento() + 1;
+        if (tentativas >= maximoTentativas) {
+            log.warn("Desistindo de obter as aparicoes do planeta {} apos {} tentativas: {}", planeta.getId(), tentativas, e.getMessage());
+            return repository.registrarFalhaDeEnriquecimento(planeta.getId(), StatusEnriquecimento.FALHOU.name(), tentativas, null);
+        }
+
+        Instant proximaTentativa = Instant.now().plus(calcularEspera(tentativas));
+        log.debug("Falha ao obter as aparicoes do planeta {}, nova tentativa em {}: {}", planeta.getId(), proximaTentativa, e.getMessage());
+        return repository.registrarFalhaDeEnriquecimento(planeta.getId(), StatusEnriquecimento.PENDENTE.name(), tentativas, proximaTentativa);
+    }
+
+    private Duration calcularEspera(int tentativas) {
+        Duration espera = esperaInicial.multipliedBy(1L << Math.min(tentativas - 1, 20));
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+}
@@ -0,0 +1,125 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import danieltsuzuk.com.github.amedigital.entities.StatusEnriquecimento;
+import danieltsuzuk.com.github.amedigital.repositories.PlanetaRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serviço que preenche em segundo plano a quantidade de aparições dos planetas com enriquecimento pendente.
+ * <p>
+ * A cada execução busca um lote de planetas pendentes, consulta as aparições em paralelo por meio do
+ * {@link AparicoesService} e grava o resultado de cada planeta. As falhas são tentadas novamente com espera
+ * exponencial até o limite de tentativas, quando o planeta passa para o status FALHOU. A quantidade de planetas
+ * ainda pendentes é publicada na métrica planetas.enriquecimento.pendentes.
+ * </p>
+ */
+@Service
+@Profile("!reativo")
+public class EnriquecimentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(EnriquecimentoService.class);
+
+    private static final IllegalStateException API_INDISPONIVEL = new IllegalStateException("API do Star Wars indisponivel");
+
+    private final PlanetaRepository repository;
+    private final AparicoesService aparicoesService;
+    private final PlanetaCache cache;
+    private final int tamanhoLote;
+    private final int paralelismo;
+    private final int maximoTentativas;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final AtomicLong pendentes = new AtomicLong();
+
+    public EnriquecimentoService(PlanetaRepository repository,
+                                 AparicoesService aparicoesService,
+                                 PlanetaCache cache,
+                                 MeterRegistry registry,
+                                 @Value("${planetas.enriquecimento.tamanho-lote:100}") int tamanhoLote,
+                                 @Value("${planetas.enriquecimento.paralelismo:8}") int paralelismo,
+                                 @Value("${planetas.enriquecimento.maximo-tentativas:8}") int maximoTentativas,
+                                 @Value("${planetas.enriquecimento.espera-inicial:PT10S}") Duration esperaInicial,
+                                 @Value("${planetas.enriquecimento.espera-maxima:PT30M}") Duration esperaMaxima) {
+        this.repository = repository;
+        this.aparicoesService = aparicoesService;
+        this.cache = cache;
+        this.tamanhoLote = tamanhoLote;
+        this.paralelismo = paralelismo;
+        this.maximoTentativas = maximoTentativas;
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+        Gauge.builder("planetas.enriquecimento.pendentes", pendentes, AtomicLong::get)
+                .description("Quantidade de planetas aguardando a consulta de aparicoes")
+                .register(registry);
+    }
+
+    /**
+     * Processa um lote de planetas com enriquecimento pendente.
+     * <p>
+     * As consultas à API externa são feitas em paralelo e fora de qualquer transação. Os resultados são gravados
+     * depois, na thread do agendador, cada um em uma transação curta, e os planetas alterados são removidos do
+     * {@link PlanetaCache}.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${planetas.enriquecimento.intervalo:PT5S}")
+    public void processarPendentes() {
+        List<Planeta> lote = repository.buscarPendentesDeEnriquecimento(Instant.now(), PageRequest.of(0, tamanhoLote));
+
+        List<Resultado> resultados = Flux.fromIterable(lote)
+                .flatMap(planeta -> aparicoesService.buscarAparicoes(planeta.getNome())
+                        .map(aparicoes -> new Resultado(planeta, aparicoes, null))
+                        .defaultIfEmpty(new Resultado(planeta, null, API_INDISPONIVEL))
+                        .onErrorResume(e -> Mono.just(new Resultado(planeta, null, e))), paralelismo)
+                .collectList()
+                .block();
+
+        for (Resultado resultado : resultados) {
+            if (resultado.aparicoes() != null) {
+                repository.concluirEnriquecimento(resultado.planeta().getId(), resultado.aparicoes());
+                cache.invalidar(resultado.planeta().getId(), resultado.planeta().getNome());
+            } else {
+                registrarFalha(resultado.planeta(), resultado.erro());
+            }
+        }
+
+        pendentes.set(repository.countByStatusEnriquecimento(StatusEnriquecimento.PENDENTE));
+    }
+
+    private void registrarFalha(Planeta planeta, Throwable e) {
+        int tentativas = planeta.getTentativasEnriquecimento() + 1;
+        if (tentativas >= maximoTentativas) {
+            log.warn("Desistindo de obter as aparicoes do planeta {} apos {} tentativas: {}", planeta.getId(), tentativas, e.getMessage());
+            repository.registrarFalhaDeEnriquecimento(planeta.getId(), StatusEnriquecimento.FALHOU, tentativas, null);
+            cache.invalidar(planeta.getId(), planeta.getNome());
+            return;
+        }
+
+        Instant proximaTentativa = Instant.now().plus(calcularEspera(tentativas));
+        log.debug("Falha ao obter as aparicoes do planeta {}, nova tentativa em {}: {}", planeta.getId(), proximaTentativa, e.getMessage());
+        repository.registrarFalhaDeEnriquecimento(planeta.getId(), StatusEnriquecimento.PENDENTE, tentativas, proximaTentativa);
+    }
+
+    private Duration calcularEspera(int tentativas) {
+        Duration espera = esperaInicial.multipliedBy(1L << Math.min(tentativas - 1, 20));
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    private record Resultado(Planeta planeta, Integer aparicoes, Throwable erro) {
+    }
+}
@@ -0,0 +1,137 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import danieltsuzuk.com.github.amedigital.Utils.Csv;
+import danieltsuzuk.com.github.amedigital.Utils.FormatoArquivo;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.repositories.PlanetaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de exportação de todos os planetas em NDJSON ou CSV.
+ * <p>
+ * Os planetas são lidos por um cursor do banco, em uma transação somente leitura, e escritos na saída um a um.
+ * A consulta já retorna o {@link PlanetaResponse}, sem entidades no contexto de persistência, de modo que o uso
+ * de memória não cresce com a quantidade de planetas.
+ * </p>
+ */
+@Service
+@Profile("!reativo")
+public class ExportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportacaoService.class);
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final String CABECALHO_CSV = "id,nome,clima,terreno,aparicoes,statusEnriquecimento";
+
+    private final PlanetaRepository repository;
+    private final TransactionTemplate transacaoSomenteLeitura;
+    private final ObjectWriter escritorJson;
+    private final Counter linhasExportadas;
+    private final Counter exportacoesInterrompidas;
+
+    public ExportacaoService(PlanetaRepository repository,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             MeterRegistry registry) {
+        this.repository = repository;
+        this.transacaoSomenteLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoSomenteLeitura.setReadOnly(true);
+        this.escritorJson = objectMapper.writerFor(PlanetaResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.linhasExportadas = Counter.builder("planetas.exportacao.linhas")
+                .description("Planetas escritos nas exportacoes")
+                .register(registry);
+        this.exportacoesInterrompidas = Counter.builder("planetas.exportacao.interrompidas")
+                .description("Exportacoes interrompidas porque o cliente encerrou a conexao")
+                .register(registry);
+    }
+
+    /**
+     * Escreve todos os planetas na saída informada.
+     * <p>
+     * Se o cliente encerrar a conexão no meio da exportação, a escrita é interrompida, o cursor é fechado e a
+     * transação é desfeita, sem propagar o erro.
+     * </p>
+     *
+     * @param saida   a saída onde os planetas serão escritos
+     * @param formato o formato da exportação
+     * @return a quantidade de planetas escritos
+     */
+    public long exportar(OutputStream saida, FormatoArquivo formato) {
+        long[] escritos = {0};
+        try {
+            transacaoSomenteLeitura.executeWithoutResult(status -> {
+                try (Stream<PlanetaResponse> planetas = repository.percorrerTodos()) {
+                    escrever(planetas.iterator(), saida, formato, escritos);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            exportacoesInterrompidas.increment();
+            log.info("Exportacao interrompida pelo cliente apos {} planetas: {}", escritos[0], e.getCause().toString());
+        }
+        linhasExportadas.increment(escritos[0]);
+        return escritos[0];
+    }
+
+    private void escrever(Iterator<PlanetaResponse> planetas, OutputStream saida, FormatoArquivo formato, long[] escritos)
+            throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        JsonGenerator gerador = formato == FormatoArquivo.NDJSON ? escritorJson.createGenerator(escritor) : null;
+        if (formato == FormatoArquivo.CSV)
+            escritor.write(CABECALHO_CSV + "\n");
+
+        while (planetas.hasNext()) {
+            PlanetaResponse response = planetas.next();
+
+            if (gerador != null) {
+                escritorJson.writeValue(gerador, response);
+                gerador.writeRaw('\n');
+            } else {
+                escreverCsv(escritor, response);
+            }
+            escritos[0]++;
+        }
+
+        if (gerador != null)
+            gerador.flush();
+        escritor.flush();
+    }
+
+    private static void escreverCsv(Writer escritor, PlanetaResponse planeta) throws IOException {
+        escritor.write(String.valueOf(planeta.getId()));
+        escritor.write(',');
+        escritor.write(Csv.escapar(planeta.getNome()));
+        escritor.write(',');
+        escritor.write(Csv.escapar(planeta.getClima()));
+        escritor.write(',');
+        escritor.write(Csv.escapar(planeta.getTerreno()));
+        escritor.write(',');
+        escritor.write(String.valueOf(planeta.getAparicoes()));
+        escritor.write(',');
+        escritor.write(String.valueOf(planeta.getStatusEnriquecimento()));
+        escritor.write('\n');
+    }
+}
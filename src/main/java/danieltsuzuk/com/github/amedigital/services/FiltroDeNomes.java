@@ -0,0 +1,201 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.Utils.FiltroBloomContador;
+import danieltsuzuk.com.github.amedigital.Utils.NomePlaneta;
+import danieltsuzuk.com.github.amedigital.repositories.PlanetaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Filtro em memória dos nomes de planetas cadastrados, usado para responder sem consultar o banco quando um nome
+ * certamente não existe.
+ * <p>
+ * O filtro é um {@link FiltroBloomContador} com os nomes normalizados, dimensionado a partir da quantidade de
+ * planetas. Ele é construído na inicialização e reconstruído periodicamente a partir de uma leitura dos nomes por
+ * cursor, e mantido atualizado pelas criações e remoções desta instância. Enquanto a primeira construção não termina,
+ * todos os nomes são tratados como possivelmente existentes.
+ * </p>
+ * <p>
+ * Durante uma reconstrução, os nomes criados são adicionados tanto ao filtro atual quanto ao novo, e as remoções
+ * só são aplicadas ao filtro atual. Assim o novo filtro pode ter nomes a mais, que geram apenas falsos positivos,
+ * mas nunca nomes a menos.
+ * </p>
+ * <p>
+ * Com um {@link ArmazemCompartilhado} configurado, os nomes criados são publicados para que as demais instâncias os
+ * adicionem aos seus filtros; as remoções não são publicadas, já que um nome a mais só gera um falso positivo. Sem
+ * ele, os planetas criados por outras instâncias só entram no filtro na próxima reconstrução, por isso o filtro deve
+ * ser desabilitado quando a aplicação roda com mais de uma instância sem o armazenamento compartilhado.
+ * </p>
+ */
+@Service
+@Profile("!reativo")
+public class FiltroDeNomes {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroDeNomes.class);
+
+    static final String CANAL_NOMES_CRIADOS = "planetas:nomes-criados";
+    private static final String SEPARADOR = "|";
+
+    private final PlanetaRepository repository;
+    private final TransactionTemplate transacaoSomenteLeitura;
+    private final boolean habilitado;
+    private final double taxaFalsoPositivo;
+    private final double fatorCrescimento;
+    private final long capacidadeMinima;
+    private final Counter nomesAusentes;
+    private final Counter falsosPositivos;
+    private final ArmazemCompartilhado compartilhado;
+    private final String origem = UUID.randomUUID().toString();
+
+    private volatile FiltroBloomContador atual;
+    private volatile FiltroBloomContador emConstrucao;
+
+    public FiltroDeNomes(PlanetaRepository repository,
+                         PlatformTransactionManager transactionManager,
+                         MeterRegistry registry,
+                         Optional<ArmazemCompartilhado> compartilhado,
+                         @Value("${planetas.filtro-nomes.habilitado:true}") boolean habilitado,
+                         @Value("${planetas.filtro-nomes.taxa-falso-positivo:0.01}") double taxaFalsoPositivo,
+                         @Value("${planetas.filtro-nomes.fator-crescimento:2}") double fatorCrescimento,
+                         @Value("${planetas.filtro-nomes.capacidade-minima:100000}") long capacidadeMinima) {
+        this.repository = repository;
+        this.transacaoSomenteLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoSomenteLeitura.setReadOnly(true);
+        this.habilitado = habilitado;
+        this.taxaFalsoPositivo = taxaFalsoPositivo;
+        this.fatorCrescimento = fatorCrescimento;
+        this.capacidadeMinima = capacidadeMinima;
+        this.compartilhado = compartilhado.orElse(null);
+        this.nomesAusentes = Counter.builder("planetas.filtro-nomes.consultas")
+                .tag("resultado", "ausente")
+                .description("Buscas por nome respondidas pelo filtro sem consultar o banco")
+                .register(registry);
+        this.falsosPositivos = Counter.builder("planetas.filtro-nomes.consultas")
+                .tag("resultado", "falso-positivo")
+                .description("Buscas por nome em que o filtro indicou um nome que nao existe no banco")
+                .register(registry);
+        Gauge.builder("planetas.filtro-nomes.taxa-falso-positivo-estimada", this,
+                        filtro -> filtro.atual == null ? Double.NaN : filtro.atual.taxaFalsoPositivoEstimada())
+                .description("Taxa de falsos positivos estimada pela ocupacao do filtro de nomes")
+                .register(registry);
+        Gauge.builder("planetas.filtro-nomes.nomes", this,
+                        filtro -> filtro.atual == null ? Double.NaN : filtro.atual.getElementos())
+                .description("Quantidade de nomes no filtro")
+                .register(registry);
+
+        if (this.compartilhado != null)
+            this.compartilhado.assinar(CANAL_NOMES_CRIADOS, this::receberNomeCriado);
+    }
+
+    /**
+     * Verifica se o planeta pode existir, e registra na métrica quando ele certamente não existe.
+     *
+     * @param nome o nome do planeta
+     * @return false se certamente não existe nenhum planeta com o nome, true se ele pode existir
+     */
+    public boolean podeExistir(String nome) {
+        FiltroBloomContador filtro = atual;
+        if (filtro == null || nome == null || filtro.podeConter(NomePlaneta.normalizar(nome)))
+            return true;
+        nomesAusentes.increment();
+        return false;
+    }
+
+    /**
+     * Registra que o filtro indicou um nome que não foi encontrado no banco.
+     */
+    public void registrarFalsoPositivo() {
+        if (atual != null)
+            falsosPositivos.increment();
+    }
+
+    /**
+     * Adiciona o nome de um planeta criado e o publica para as demais instâncias. Deve ser chamado depois da
+     * confirmação da inserção no banco.
+     *
+     * @param nome o nome do planeta criado
+     */
+    public void adicionar(String nome) {
+        adicionarLocal(nome);
+        if (compartilhado == null)
+            return;
+        try {
+            compartilhado.publicar(CANAL_NOMES_CRIADOS, origem + SEPARADOR + nome);
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar o nome criado {}: {}", nome, e.toString());
+        }
+    }
+
+    private void receberNomeCriado(String mensagem) {
+        int separador = mensagem.indexOf(SEPARADOR);
+        if (separador > 0 && !mensagem.startsWith(origem + SEPARADOR))
+            adicionarLocal(mensagem.substring(separador + 1));
+    }
+
+    private void adicionarLocal(String nome) {
+        String chave = NomePlaneta.normalizar(nome);
+        // o filtro em construção é lido antes do atual: na troca, o atual passa a ser o novo antes de
+        // emConstrucao ser limpo, então o nome sempre chega ao novo filtro
+        FiltroBloomContador novo = emConstrucao;
+        FiltroBloomContador filtro = atual;
+        if (novo != null)
+            novo.adicionar(chave);
+        if (filtro != null && filtro != novo)
+            filtro.adicionar(chave);
+    }
+
+    /**
+     * Remove o nome de um planeta removido. Deve ser chamado depois da confirmação da remoção no banco.
+     *
+     * @param nome o nome do planeta removido
+     */
+    public void remover(String nome) {
+        FiltroBloomContador filtro = atual;
+        if (filtro != null && filtro != emConstrucao)
+            filtro.remover(NomePlaneta.normalizar(nome));
+    }
+
+    /**
+     * Constrói um novo filtro com os nomes cadastrados e o coloca no lugar do atual.
+     * <p>
+     * O tamanho é recalculado a cada construção, a partir da quantidade de planetas multiplicada pelo fator de
+     * crescimento, para que a taxa de falsos positivos continue próxima da configurada conforme a tabela cresce.
+     * </p>
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${planetas.filtro-nomes.reconstrucao:PT6H}")
+    public void reconstruir() {
+        if (!habilitado)
+            return;
+
+        long inicio = System.nanoTime();
+        long planetas = repository.count();
+        long capacidade = (long) (Math.max(planetas, capacidadeMinima) * fatorCrescimento);
+        FiltroBloomContador novo = FiltroBloomContador.dimensionar(capacidade, taxaFalsoPositivo);
+        emConstrucao = novo;
+        try {
+            transacaoSomenteLeitura.executeWithoutResult(status -> {
+                try (Stream<String> nomes = repository.percorrerNomes()) {
+                    nomes.forEach(nome -> novo.adicionar(NomePlaneta.normalizar(nome)));
+                }
+            });
+            atual = novo;
+        } finally {
+            emConstrucao = null;
+        }
+        log.info("Filtro de nomes construido com {} nomes, {} posicoes e {} funcoes de hash em {} ms",
+                novo.getElementos(), novo.getPosicoes(), novo.getFuncoesHash(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+}
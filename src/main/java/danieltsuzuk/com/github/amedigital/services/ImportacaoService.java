@@ -0,0 +1,221 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import danieltsuzuk.com.github.amedigital.Utils.Csv;
+import danieltsuzuk.com.github.amedigital.Utils.FormatoArquivo;
+import danieltsuzuk.com.github.amedigital.dto.ImportacaoResponse;
+import danieltsuzuk.com.github.amedigital.dto.ItemLoteResponse;
+import danieltsuzuk.com.github.amedigital.dto.LinhaRejeitadaResponse;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaRequest;
+import danieltsuzuk.com.github.amedigital.exceptions.LoteInvalidoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Serviço de importação de arquivos de planetas em NDJSON ou CSV.
+ * <p>
+ * O arquivo é lido linha a linha, sem ser carregado inteiro em memória. As linhas válidas são acumuladas em blocos
+ * de tamanho fixo e cada bloco é criado por meio do {@link PlanetaService#criarEmLote(List)}, em uma transação
+ * própria e com as aparições obtidas pelo {@link AparicoesService}. Assim, o uso de memória depende apenas do
+ * tamanho do bloco, e não do tamanho do arquivo.
+ * </p>
+ * <p>
+ * Ao fim de cada bloco o checkpoint avança para a última linha confirmada. Se a importação for interrompida, o
+ * mesmo arquivo pode ser reenviado informando o checkpoint, e as linhas até ele são ignoradas.
+ * </p>
+ */
+@Service
+@Profile("!reativo")
+public class ImportacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoService.class);
+
+    private static final Duration INTERVALO_PROGRESSO = Duration.ofSeconds(10);
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final PlanetaService planetaService;
+    private final ObjectReader leitorJson;
+    private final int tamanhoBloco;
+    private final int maximoLinhasRelatadas;
+    private final Counter linhasCriadas;
+    private final Counter linhasRejeitadas;
+
+    public ImportacaoService(PlanetaService planetaService,
+                             ObjectMapper objectMapper,
+                             MeterRegistry registry,
+                             @Value("${planetas.importacao.tamanho-bloco:500}") int tamanhoBloco,
+                             @Value("${planetas.lote.tamanho-maximo:1000}") int tamanhoMaximoLote,
+                             @Value("${planetas.importacao.maximo-linhas-relatadas:100}") int maximoLinhasRelatadas) {
+        this.planetaService = planetaService;
+        this.leitorJson = objectMapper.readerFor(PlanetaRequest.class);
+        this.tamanhoBloco = Math.min(tamanhoBloco, tamanhoMaximoLote);
+        this.maximoLinhasRelatadas = maximoLinhasRelatadas;
+        this.linhasCriadas = Counter.builder("planetas.importacao.linhas")
+                .tag("resultado", "criada")
+                .description("Linhas importadas que resultaram em um planeta criado")
+                .register(registry);
+        this.linhasRejeitadas = Counter.builder("planetas.importacao.linhas")
+                .tag("resultado", "rejeitada")
+                .description("Linhas importadas rejeitadas por erro de formato, validacao ou nome repetido")
+                .register(registry);
+    }
+
+    /**
+     * Importa os planetas do arquivo informado.
+     * <p>
+     * As linhas em branco são ignoradas. As linhas malformadas ou inválidas são contadas como falhas e não
+     * interrompem a importação. Se ocorrer um erro de leitura ou de banco, a importação é interrompida e o resumo
+     * informa o checkpoint a partir do qual ela pode ser retomada.
+     * </p>
+     *
+     * @param entrada     o conteúdo do arquivo
+     * @param tipo        o tipo de conteúdo do arquivo, que define o formato e a codificação
+     * @param retomarApos o número da última linha já importada, ou 0 para importar o arquivo inteiro
+     * @return o resumo da importação
+     * @throws LoteInvalidoException se o arquivo CSV não tiver um cabeçalho com as colunas nome, clima e terreno
+     */
+    public ImportacaoResponse importar(InputStream entrada, MediaType tipo, long retomarApos) {
+        FormatoArquivo formato = FormatoArquivo.porTipo(tipo);
+        Charset codificacao = tipo != null && tipo.getCharset() != null ? tipo.getCharset() : StandardCharsets.UTF_8;
+        ImportacaoResponse resumo = new ImportacaoResponse(retomarApos);
+        List<PlanetaRequest> bloco = new ArrayList<>(tamanhoBloco);
+        long[] linhasDoBloco = new long[tamanhoBloco];
+        long numero = 0;
+        long inicio = System.nanoTime();
+        long proximoProgresso = inicio + INTERVALO_PROGRESSO.toNanos();
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(entrada, codificacao), TAMANHO_BUFFER)) {
+            ConversorDeLinha conversor;
+            if (formato == FormatoArquivo.CSV) {
+                conversor = conversorCsv(leitor.readLine());
+                numero++;
+            } else {
+                conversor = leitorJson::readValue;
+            }
+
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                if (numero <= retomarApos || linha.isBlank()) {
+                    if (bloco.isEmpty())
+                        resumo.setCheckpoint(Math.max(resumo.getCheckpoint(), numero));
+                    continue;
+                }
+
+                resumo.setLinhasLidas(resumo.getLinhasLidas() + 1);
+                try {
+                    linhasDoBloco[bloco.size()] = numero;
+                    bloco.add(conversor.converter(linha));
+                } catch (IOException | RuntimeException e) {
+                    rejeitar(resumo, numero, List.of(formato == FormatoArquivo.CSV ? e.getMessage() : "JSON invalido"));
+                }
+
+                if (bloco.size() == tamanhoBloco)
+                    confirmarBloco(bloco, linhasDoBloco, resumo);
+                if (bloco.isEmpty())
+                    resumo.setCheckpoint(numero);
+
+                if (System.nanoTime() > proximoProgresso) {
+                    log.info("Importacao em andamento: {} linhas lidas, {} planetas criados, {} falhas, checkpoint {}",
+                            resumo.getLinhasLidas(), resumo.getCriados(), resumo.getFalhas(), resumo.getCheckpoint());
+                    proximoProgresso = System.nanoTime() + INTERVALO_PROGRESSO.toNanos();
+                }
+            }
+
+            confirmarBloco(bloco, linhasDoBloco, resumo);
+            resumo.setCheckpoint(Math.max(resumo.getCheckpoint(), numero));
+            resumo.setConcluida(true);
+        } catch (LoteInvalidoException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Importacao interrompida na linha {}, checkpoint {}: {}", numero, resumo.getCheckpoint(), e.toString());
+            resumo.setMensagem("Importacao interrompida: " + e.getMessage());
+        }
+
+        double segundos = Math.max(System.nanoTime() - inicio, 1) / 1e9;
+        log.info("Importacao finalizada: {} linhas lidas, {} planetas criados, {} falhas, {} linhas/s",
+                resumo.getLinhasLidas(), resumo.getCriados(), resumo.getFalhas(), Math.round(resumo.getLinhasLidas() / segundos));
+        return resumo;
+    }
+
+    /**
+     * Cria os planetas do bloco em lote e esvazia o bloco.
+     *
+     * @param bloco         os planetas lidos desde o último bloco confirmado
+     * @param linhasDoBloco o número da linha de cada planeta do bloco
+     * @param resumo        o resumo a ser atualizado
+     */
+    private void confirmarBloco(List<PlanetaRequest> bloco, long[] linhasDoBloco, ImportacaoResponse resumo) {
+        if (bloco.isEmpty())
+            return;
+
+        for (ItemLoteResponse item : planetaService.criarEmLote(bloco).getItens()) {
+            if (item.isCriado()) {
+                resumo.setCriados(resumo.getCriados() + 1);
+                linhasCriadas.increment();
+            } else {
+                rejeitar(resumo, linhasDoBloco[item.getIndice()], item.getErros());
+            }
+        }
+        bloco.clear();
+    }
+
+    private void rejeitar(ImportacaoResponse resumo, long linha, List<String> erros) {
+        resumo.setFalhas(resumo.getFalhas() + 1);
+        linhasRejeitadas.increment();
+        if (resumo.getLinhasRejeitadas().size() < maximoLinhasRelatadas)
+            resumo.getLinhasRejeitadas().add(new LinhaRejeitadaResponse(linha, erros));
+    }
+
+    /**
+     * Monta o conversor de linhas CSV a partir do cabeçalho, que define a posição de cada coluna.
+     *
+     * @param cabecalho a primeira linha do arquivo
+     * @return o conversor das linhas de dados
+     * @throws LoteInvalidoException se o cabeçalho não tiver as colunas nome, clima e terreno
+     */
+    private static ConversorDeLinha conversorCsv(String cabecalho) {
+        if (cabecalho == null)
+            throw new LoteInvalidoException("O arquivo CSV deve conter um cabecalho");
+
+        List<String> colunas = Csv.separar(cabecalho).stream()
+                .map(coluna -> coluna.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int nome = colunas.indexOf("nome");
+        int clima = colunas.indexOf("clima");
+        int terreno = colunas.indexOf("terreno");
+        if (nome < 0 || clima < 0 || terreno < 0)
+            throw new LoteInvalidoException("O cabecalho do CSV deve conter as colunas nome, clima e terreno");
+
+        int colunasNecessarias = Math.max(nome, Math.max(clima, terreno)) + 1;
+        return linha -> {
+            List<String> campos = Csv.separar(linha);
+            if (campos.size() < colunasNecessarias)
+                throw new IllegalArgumentException("Quantidade de colunas invalida");
+            return new PlanetaRequest(campos.get(nome), campos.get(clima), campos.get(terreno));
+        };
+    }
+
+    @FunctionalInterface
+    private interface ConversorDeLinha {
+        PlanetaRequest converter(String linha) throws IOException;
+    }
+}
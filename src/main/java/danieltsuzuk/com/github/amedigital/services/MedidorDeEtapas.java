@@ -0,0 +1,57 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Supplier;
+
+/**
+ * Mede o tempo de cada etapa das operações com planetas.
+ * <p>
+ * Cada etapa é registrada como uma observação do Micrometer com o nome planetas.etapa, que gera o timer de mesmo
+ * nome com as tags operacao, etapa e error. As tags recebem apenas os nomes fixos passados pelo código, nunca dados
+ * da requisição, para que a quantidade de séries não cresça com o uso.
+ * </p>
+ */
+@Service
+public class MedidorDeEtapas {
+
+    static final String METRICA = "planetas.etapa";
+
+    private final ObservationRegistry registry;
+
+    public MedidorDeEtapas(ObservationRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Executa a etapa, medindo o seu tempo.
+     *
+     * @param operacao o nome da operação, como criar ou buscarPorId
+     * @param etapa    o nome da etapa, como aparicoes ou insercao
+     * @param acao     a etapa
+     * @return o resultado da etapa
+     */
+    public <T> T medir(String operacao, String etapa, Supplier<T> acao) {
+        return observacao(operacao, etapa).observe(acao);
+    }
+
+    /**
+     * Executa a etapa sem resultado, medindo o seu tempo.
+     *
+     * @param operacao o nome da operação, como criar ou deletar
+     * @param etapa    o nome da etapa, como cache ou remocao
+     * @param acao     a etapa
+     */
+    public void medir(String operacao, String etapa, Runnable acao) {
+        observacao(operacao, etapa).observe(acao);
+    }
+
+    private Observation observacao(String operacao, String etapa) {
+        return Observation.createNotStarted(METRICA, registry)
+                .contextualName(operacao + " " + etapa)
+                .lowCardinalityKeyValue("operacao", operacao)
+                .lowCardinalityKeyValue("etapa", etapa);
+    }
+}
@@ -0,0 +1,244 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.entities.StatusEnriquecimento;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache de leitura dos planetas, indexado por ID e por nome, em dois níveis.
+ * <p>
+ * O primeiro nível é local: cada índice é um cache Caffeine limitado que carrega o planeta na primeira busca pela
+ * chave, de forma atômica por chave. O segundo nível, opcional, é um {@link ArmazemCompartilhado} entre as
+ * instâncias da aplicação, consultado antes do banco. Os valores guardados são cópias imutáveis, e cada busca
+ * recebe um PlanetaResponse novo. Os planetas não encontrados não são guardados.
+ * </p>
+ * <p>
+ * Os dois índices são carregados de forma independente, e quem altera ou remove um planeta deve chamar
+ * {@link #invalidar(Long, String)} com o ID e o nome depois de confirmar a alteração no banco. A invalidação remove
+ * o planeta dos dois níveis e publica uma mensagem para que as demais instâncias o removam dos seus caches locais.
+ * Como a invalidação local aguarda as cargas em andamento da mesma chave, uma busca concorrente não consegue
+ * guardar o valor antigo. O tempo de expiração limita por quanto tempo uma mensagem perdida pode manter um valor
+ * antigo.
+ * </p>
+ */
+@Service
+@Profile("!reativo")
+public class PlanetaCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PlanetaCache.class);
+
+    static final String CANAL_INVALIDACOES = "planetas:invalidacoes";
+    private static final String PREFIXO_ID = "planetas:id:";
+    private static final String PREFIXO_NOME = "planetas:nome:";
+    private static final String SEPARADOR = "|";
+
+    private final boolean habilitado;
+    private final Cache<Long, Instantaneo> porId;
+    private final Cache<String, Instantaneo> porNome;
+    private final ArmazemCompartilhado compartilhado;
+    private final ObjectMapper objectMapper;
+    private final Duration ttlCompartilhado;
+    private final String origem = UUID.randomUUID().toString();
+    private final Counter acertosCompartilhado;
+    private final Counter falhasCompartilhado;
+    private final Counter errosCompartilhado;
+    private final Timer atrasoInvalidacao;
+
+    public PlanetaCache(MeterRegistry registry,
+                        ObjectMapper objectMapper,
+                        Optional<ArmazemCompartilhado> compartilhado,
+                        @Value("${planetas.cache.habilitado:true}") boolean habilitado,
+                        @Value("${planetas.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+                        @Value("${planetas.cache.ttl:PT10M}") Duration ttl,
+                        @Value("${planetas.cache.compartilhado.ttl:PT10M}") Duration ttlCompartilhado) {
+        this.habilitado = habilitado;
+        this.objectMapper = objectMapper;
+        this.compartilhado = compartilhado.orElse(null);
+        this.ttlCompartilhado = ttlCompartilhado;
+        this.porId = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.porNome = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, porId, "planetas.por-id");
+        CaffeineCacheMetrics.monitor(registry, porNome, "planetas.por-nome");
+        this.acertosCompartilhado = contadorCompartilhado(registry, "acerto");
+        this.falhasCompartilhado = contadorCompartilhado(registry, "falha");
+        this.errosCompartilhado = contadorCompartilhado(registry, "erro");
+        this.atrasoInvalidacao = Timer.builder("planetas.cache.invalidacao.atraso")
+                .description("Tempo entre a publicacao de uma invalidacao por outra instancia e o seu recebimento")
+                .register(registry);
+
+        if (this.compartilhado != null)
+            this.compartilhado.assinar(CANAL_INVALIDACOES, this::receberInvalidacao);
+    }
+
+    /**
+     * Busca o planeta pelo ID no cache, carregando-o com a função informada se não estiver presente.
+     *
+     * @param id         o ID do planeta
+     * @param carregador a função que busca o planeta no banco
+     * @return o planeta encontrado, ou vazio se ele não existir
+     */
+    public Optional<PlanetaResponse> buscarPorId(Long id, Function<Long, Optional<PlanetaResponse>> carregador) {
+        if (!habilitado)
+            return carregador.apply(id);
+        return Optional.ofNullable(porId.get(id, chave -> carregar(PREFIXO_ID + chave, () -> carregador.apply(chave))))
+                .map(Instantaneo::paraResponse);
+    }
+
+    /**
+     * Busca o planeta pelo nome no cache, carregando-o com a função informada se não estiver presente.
+     *
+     * @param nome       o nome do planeta
+     * @param carregador a função que busca o planeta no banco
+     * @return o planeta encontrado, ou vazio se ele não existir
+     */
+    public Optional<PlanetaResponse> buscarPorNome(String nome, Function<String, Optional<PlanetaResponse>> carregador) {
+        if (!habilitado)
+            return carregador.apply(nome);
+        return Optional.ofNullable(porNome.get(nome, chave -> carregar(PREFIXO_NOME + chave, () -> carregador.apply(chave))))
+                .map(Instantaneo::paraResponse);
+    }
+
+    /**
+     * Remove o planeta dos dois índices, nos dois níveis, e avisa as demais instâncias.
+     *
+     * @param id   o ID do planeta
+     * @param nome o nome do planeta
+     */
+    public void invalidar(Long id, String nome) {
+        invalidarLocal(id, nome);
+        if (compartilhado == null)
+            return;
+
+        try {
+            removerDoCompartilhado(id, nome);
+            compartilhado.publicar(CANAL_INVALIDACOES, String.join(SEPARADOR, origem,
+                    String.valueOf(System.currentTimeMillis()), id == null ? "" : id.toString(), nome == null ? "" : nome));
+        } catch (RuntimeException e) {
+            errosCompartilhado.increment();
+            log.warn("Falha ao invalidar o planeta {} no cache compartilhado: {}", id != null ? id : nome, e.toString());
+        }
+    }
+
+    private void invalidarLocal(Long id, String nome) {
+        if (id != null)
+            porId.invalidate(id);
+        if (nome != null)
+            porNome.invalidate(nome);
+    }
+
+    /**
+     * Trata a invalidação publicada por outra instância.
+     * <p>
+     * Depois de remover o planeta do cache local, as chaves do cache compartilhado são removidas novamente: uma carga
+     * desta instância que leu o banco antes da alteração pode tê-las gravado depois da remoção feita pela origem, e
+     * a invalidação local só termina depois dessas cargas.
+     * </p>
+     *
+     * @param mensagem a mensagem no formato origem|enviadaEmMillis|id|nome
+     */
+    private void receberInvalidacao(String mensagem) {
+        String[] partes = mensagem.split("\\|", 4);
+        if (partes.length < 4 || origem.equals(partes[0]))
+            return;
+
+        Long id = partes[2].isEmpty() ? null : Long.valueOf(partes[2]);
+        String nome = partes[3].isEmpty() ? null : partes[3];
+        atrasoInvalidacao.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - Long.parseLong(partes[1]))));
+        invalidarLocal(id, nome);
+        try {
+            removerDoCompartilhado(id, nome);
+        } catch (RuntimeException e) {
+            errosCompartilhado.increment();
+        }
+    }
+
+    private void removerDoCompartilhado(Long id, String nome) {
+        if (id != null && nome != null)
+            compartilhado.remover(PREFIXO_ID + id, PREFIXO_NOME + nome);
+        else if (id != null)
+            compartilhado.remover(PREFIXO_ID + id);
+        else if (nome != null)
+            compartilhado.remover(PREFIXO_NOME + nome);
+    }
+
+    /**
+     * Carrega o planeta do cache compartilhado ou, se ele não estiver lá, do banco, gravando-o no cache compartilhado.
+     * Os erros do cache compartilhado são registrados e a carga segue pelo banco.
+     */
+    private Instantaneo carregar(String chave, Supplier<Optional<PlanetaResponse>> carregador) {
+        if (compartilhado == null)
+            return carregador.get().map(Instantaneo::new).orElse(null);
+
+        try {
+            String valor = compartilhado.buscar(chave);
+            if (valor != null) {
+                acertosCompartilhado.increment();
+                return objectMapper.readValue(valor, Instantaneo.class);
+            }
+            falhasCompartilhado.increment();
+        } catch (JsonProcessingException | RuntimeException e) {
+            errosCompartilhado.increment();
+            log.debug("Falha ao ler {} do cache compartilhado: {}", chave, e.toString());
+        }
+
+        Instantaneo instantaneo = carregador.get().map(Instantaneo::new).orElse(null);
+        if (instantaneo != null) {
+            try {
+                compartilhado.gravar(chave, objectMapper.writeValueAsString(instantaneo), ttlCompartilhado);
+            } catch (JsonProcessingException | RuntimeException e) {
+                errosCompartilhado.increment();
+                log.debug("Falha ao gravar {} no cache compartilhado: {}", chave, e.toString());
+            }
+        }
+        return instantaneo;
+    }
+
+    private static Counter contadorCompartilhado(MeterRegistry registry, String resultado) {
+        return Counter.builder("planetas.cache.compartilhado")
+                .tag("resultado", resultado)
+                .description("Consultas ao cache compartilhado de planetas")
+                .register(registry);
+    }
+
+    /**
+     * Cópia imutável dos dados de um planeta.
+     */
+    private record Instantaneo(Long id, String nome, String clima, String terreno, int aparicoes,
+                               StatusEnriquecimento statusEnriquecimento, long versao) {
+
+        Instantaneo(PlanetaResponse planeta) {
+            this(planeta.getId(), planeta.getNome(), planeta.getClima(), planeta.getTerreno(), planeta.getAparicoes(),
+                    planeta.getStatusEnriquecimento(), planeta.getVersao());
+        }
+
+        PlanetaResponse paraResponse() {
+            return new PlanetaResponse(id, nome, clima, terreno, aparicoes, statusEnriquecimento, versao);
+        }
+    }
+}
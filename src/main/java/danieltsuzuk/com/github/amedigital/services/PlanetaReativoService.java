@@ -0,0 +1,141 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.Utils.NomePlaneta;
+import danieltsuzuk.com.github.amedigital.Utils.ViolacaoDeIntegridade;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaRequest;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.exceptions.BancoDeDadosException;
+import danieltsuzuk.com.github.amedigital.exceptions.PlanetaNaoEncontradoException;
+import danieltsuzuk.com.github.amedigital.repositories.PlanetaReativoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+/**
+ * Serviço reativo para a entidade Planeta.
+ * <p>
+ * Equivalente ao {@link PlanetaService} para o perfil "reativo". Nenhum método bloqueia: a consulta de aparições
+ * e o acesso ao banco via R2DBC são compostos em um único fluxo.
+ * </p>
+ */
+@Service
+@Profile("reativo")
+public class PlanetaReativoService {
+
+    // as mesmas exceções compartilhadas do PlanetaService, sem pilha de chamadas e sem estado mutável
+    private static final PlanetaNaoEncontradoException PLANETA_NAO_ENCONTRADO =
+            new PlanetaNaoEncontradoException("Planeta nao encontrado");
+    private static final BancoDeDadosException PLANETA_JA_CADASTRADO =
+            new BancoDeDadosException("Planeta ja cadastrado");
+
+    @Autowired
+    private PlanetaReativoRepository repository;
+
+    @Autowired
+    private AparicoesService aparicoesService;
+
+    /**
+     * Cria um novo planeta no banco de dados.
+     * <p>
+     * Obtém o número de aparições do planeta em filmes e em seguida insere o planeta. Se a API externa estiver
+     * indisponível, o planeta é salvo com o enriquecimento pendente, e as aparições são preenchidas depois pelo
+     * {@link EnriquecimentoReativoService}. Só a violação da constraint de nome único é
+     * convertida em {@link BancoDeDadosException}; as demais violações de integridade são propagadas.
+     * </p>
+     *
+     * @param dto o DTO com os dados do planeta a ser criado
+     * @return um Mono com a resposta do planeta criado
+     */
+    public Mono<PlanetaResponse> criar(PlanetaRequest dto) {
+        return aparicoesService.buscarAparicoes(dto.getNome())
+                .map(dto::criarPlanetaReativoComAparicoes)
+                .switchIfEmpty(Mono.fromSupplier(dto::criarPlanetaReativoPendente))
+                .flatMap(repository::save)
+                .map(PlanetaResponse::new)
+                .onErrorMap(e -> e instanceof DataIntegrityViolationException violacao
+                        && ViolacaoDeIntegridade.violouNomeUnico(violacao), e -> PLANETA_JA_CADASTRADO);
+    }
+
+    /**
+     * Busca um planeta pelo seu ID.
+     *
+     * @param id o ID do planeta a ser buscado
+     * @return um Mono com a resposta do planeta encontrado, ou com erro se o planeta não for encontrado
+     */
+    public Mono<PlanetaResponse> buscarPorId(Long id) {
+        return repository.findById(id)
+                .map(PlanetaResponse::new)
+                .switchIfEmpty(Mono.error(PLANETA_NAO_ENCONTRADO));
+    }
+
+    /**
+     * Busca um planeta pelo seu nome.
+     *
+     * @param nome o nome do planeta a ser buscado
+     * @return um Mono com a resposta do planeta encontrado, ou com erro se o planeta não for encontrado
+     */
+    public Mono<PlanetaResponse> buscarPorNome(String nome) {
+        return repository.findByNome(nome)
+                .map(PlanetaResponse::new)
+                .switchIfEmpty(Mono.error(PLANETA_NAO_ENCONTRADO));
+    }
+
+    /**
+     * Busca uma página de planetas, filtrando opcionalmente por ID e por parte do nome.
+     * <p>
+     * Como na pilha servlet, o nome é comparado sem diferenciar maiúsculas e minúsculas, sobre lower(nome), com os
+     * caracteres especiais do LIKE escapados.
+     * </p>
+     *
+     * @param id       o ID do planeta a ser filtrado (opcional)
+     * @param nome     o nome ou parte do nome a ser filtrado (opcional)
+     * @param pageable as informações de paginação
+     * @return um Mono com a página de planetas encontrados
+     */
+    public Mono<Page<PlanetaResponse>> buscarTodos(Long id, String nome, Pageable pageable) {
+        String termo = NomePlaneta.normalizar(nome);
+        if (id != null) {
+            return repository.findById(id)
+                    .filter(planeta -> termo == null || planeta.getNome().toLowerCase(Locale.ROOT).contains(termo))
+                    .map(PlanetaResponse::new)
+                    .flux()
+                    .collectList()
+                    .map(planetas -> new PageImpl<>(planetas, pageable, planetas.size()));
+        }
+
+        String padrao = NomePlaneta.padraoDeBusca(nome, false);
+        if (padrao != null) {
+            return repository.buscarPorPadraoDoNome(padrao, pageable)
+                    .map(PlanetaResponse::new)
+                    .collectList()
+                    .zipWith(repository.contarPorPadraoDoNome(padrao))
+                    .map(pagina -> new PageImpl<>(pagina.getT1(), pageable, pagina.getT2()));
+        }
+
+        return repository.findAllBy(pageable)
+                .map(PlanetaResponse::new)
+                .collectList()
+                .zipWith(repository.count())
+                .map(pagina -> new PageImpl<>(pagina.getT1(), pageable, pagina.getT2()));
+    }
+
+    /**
+     * Deleta um planeta pelo seu ID.
+     *
+     * @param id o ID do planeta a ser deletado
+     * @return um Mono vazio ao concluir, ou com erro se o planeta não for encontrado
+     */
+    public Mono<Void> deletar(Long id) {
+        return repository.existsById(id)
+                .flatMap(existe -> existe
+                        ? repository.deleteById(id)
+                        : Mono.error(PLANETA_NAO_ENCONTRADO));
+    }
+}
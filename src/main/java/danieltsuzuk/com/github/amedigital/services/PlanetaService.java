@@ -1,129 +1,370 @@
 package danieltsuzuk.com.github.amedigital.services;
 
+import danieltsuzuk.com.github.amedigital.Utils.CursorPagina;
+import danieltsuzuk.com.github.amedigital.Utils.ViolacaoDeIntegridade;
+import danieltsuzuk.com.github.amedigital.dto.ItemLoteResponse;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaCursorResponse;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaLoteResponse;
 import danieltsuzuk.com.github.amedigital.dto.PlanetaRequest;
 import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
-import danieltsuzuk.com.github.amedigital.dto.StarWarsPlanetaResponse;
-import danieltsuzuk.com.github.amedigital.dto.StarWarsPlanetaResultados;
 import danieltsuzuk.com.github.amedigital.entities.Planeta;
 import danieltsuzuk.com.github.amedigital.exceptions.BancoDeDadosException;
+import danieltsuzuk.com.github.amedigital.exceptions.LoteInvalidoException;
+import danieltsuzuk.com.github.amedigital.exceptions.PaginacaoInvalidaException;
 import danieltsuzuk.com.github.amedigital.exceptions.PlanetaNaoEncontradoException;
 import danieltsuzuk.com.github.amedigital.repositories.PlanetaRepository;
+import danieltsuzuk.com.github.amedigital.specifications.PlanetaSpecification;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Optional;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Serviço para a entidade Planeta.
  * <p>
  * Esta classe fornece métodos para criar, buscar, listar e deletar planetas.
  * </p>
+ * <p>
+ * As etapas de cada operação, como a consulta à API do Star Wars, a inserção, a leitura do cache e as consultas ao
+ * banco, são medidas pelo {@link MedidorDeEtapas} na métrica planetas.etapa, com a operação e a etapa como tags.
+ * Cada método público gera um span, e as etapas geram spans filhos dele.
+ * </p>
  */
+@Observed(name = "planetas.servico")
 @Service
+@Profile("!reativo")
 public class PlanetaService {
 
+    // sem pilha de chamadas e sem estado mutável, as exceções das buscas e da criação podem ser compartilhadas
+    private static final PlanetaNaoEncontradoException PLANETA_NAO_ENCONTRADO =
+            new PlanetaNaoEncontradoException("Planeta nao encontrado");
+    private static final BancoDeDadosException PLANETA_JA_CADASTRADO =
+            new BancoDeDadosException("Planeta ja cadastrado");
+
     @Autowired
     private PlanetaRepository repository;
 
     @Autowired
-    private WebClient apiStarWars;
+    private AparicoesService aparicoesService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PlanetaCache cache;
+
+    @Autowired
+    private FiltroDeNomes filtroDeNomes;
+
+    @Autowired
+    private MedidorDeEtapas etapas;
+
+    @Value("${planetas.enriquecimento.assincrono:false}")
+    private boolean enriquecimentoAssincrono;
+
+    @Value("${planetas.lote.tamanho-maximo:1000}")
+    private int tamanhoMaximoLote;
+
+    @Value("${planetas.lote.paralelismo-aparicoes:16}")
+    private int paralelismoAparicoes;
+
+    @Value("${planetas.cursor.tamanho-maximo:1000}")
+    private int tamanhoMaximoPaginaCursor;
 
     /**
      * Cria um novo planeta no banco de dados.
      * <p>
-     * Este método verifica se um planeta com o mesmo nome já existe. Se existir, lança uma exceção.
-     * Caso contrário, consulta a API do Star Wars para obter o número de aparições do planeta em filmes,
-     * salva o novo planeta com o número de aparições e retorna a resposta do planeta criado.
+     * No modo síncrono, o número de aparições do planeta em filmes é obtido por meio do {@link AparicoesService}
+     * antes de qualquer acesso ao banco, para que uma API externa lenta não mantenha conexões do pool ocupadas.
+     * No modo assíncrono, o planeta é salvo imediatamente com o enriquecimento pendente e as aparições são
+     * preenchidas depois pelo {@link EnriquecimentoService}. O mesmo acontece no modo síncrono quando a API externa
+     * está indisponível. Em todos os casos o planeta é inserido em uma
+     * transação curta, e a violação da constraint nome_unique é convertida em {@link BancoDeDadosException}. Depois
+     * da inserção, qualquer entrada do {@link PlanetaCache} com o mesmo ID ou nome é removida.
      * </p>
      *
      * @param dto o DTO com os dados do planeta a ser criado
      * @return a resposta do planeta criado
+     * @throws BancoDeDadosException se já existir um planeta com o mesmo nome
      */
-    @Transactional
     public PlanetaResponse criar(PlanetaRequest dto) {
-        if (repository.existsByNome(dto.getNome())) {
-            throw new BancoDeDadosException("Planeta ja cadastrado");
+        Integer aparicoes = enriquecimentoAssincrono ? null
+                : etapas.medir("criar", "aparicoes", () -> aparicoesService.buscarAparicoes(dto.getNome()).block());
+        Planeta novoPlaneta = aparicoes == null
+                ? dto.criarPlanetaPendente()
+                : dto.criarPlanetaComAparicoes(aparicoes);
+
+        try {
+            Planeta planeta = etapas.medir("criar", "insercao", () -> repository.saveAndFlush(novoPlaneta));
+            etapas.medir("criar", "cache", () -> {
+                cache.invalidar(planeta.getId(), planeta.getNome());
+                filtroDeNomes.adicionar(planeta.getNome());
+            });
+            return new PlanetaResponse(planeta);
+        } catch (DataIntegrityViolationException e) {
+            if (ViolacaoDeIntegridade.violouNomeUnico(e))
+                throw PLANETA_JA_CADASTRADO;
+            throw e;
         }
+    }
 
-        int aparicoes = 0;
-        Mono<StarWarsPlanetaResponse> monoAparicoes = apiStarWars.get()
-                .uri("/planets/?search={nomePlaneta}", dto.getNome())
-                .retrieve()
-                .bodyToMono(StarWarsPlanetaResponse.class);
+    /**
+     * Cria vários planetas de uma só vez.
+     * <p>
+     * Todos os itens são validados e a unicidade dos nomes é verificada com uma única consulta ao banco. Os itens
+     * válidos têm as aparições obtidas em paralelo, com paralelismo limitado, e são inseridos em uma única transação
+     * usando o batch do JDBC. Se algum nome for cadastrado por outra requisição entre a verificação e a inserção,
+     * os itens do lote são inseridos um a um para identificar qual falhou.
+     * </p>
+     *
+     * @param dtos os DTOs com os dados dos planetas a serem criados
+     * @return o resultado de cada item, na mesma ordem da requisição
+     * @throws LoteInvalidoException se o lote estiver vazio ou exceder o tamanho máximo
+     */
+    public PlanetaLoteResponse criarEmLote(List<PlanetaRequest> dtos) {
+        if (dtos == null || dtos.isEmpty())
+            throw new LoteInvalidoException("O lote deve conter ao menos um planeta");
+        if (dtos.size() > tamanhoMaximoLote)
+            throw new LoteInvalidoException("O lote deve conter no maximo " + tamanhoMaximoLote + " planetas");
 
-        StarWarsPlanetaResponse starWarsPlanetaResponse = monoAparicoes.block();
+        ItemLoteResponse[] itens = new ItemLoteResponse[dtos.size()];
+        List<Integer> validos = validarLote(dtos, itens);
 
-        if (starWarsPlanetaResponse != null && !starWarsPlanetaResponse.getResults().isEmpty())
-            for (StarWarsPlanetaResultados planeta : starWarsPlanetaResponse.results) {
-                if (planeta.name.equalsIgnoreCase(dto.getNome()))
-                    aparicoes = planeta.getFilms().size();
-            }
+        List<Planeta> planetas = Flux.fromIterable(validos)
+                .flatMapSequential(indice -> criarPlanetaEnriquecido(dtos.get(indice)), paralelismoAparicoes)
+                .collectList()
+                .block();
 
-        Planeta planeta = repository.save(dto.criarPlanetaComAparicoes(aparicoes));
-        return new PlanetaResponse(planeta);
+        List<Planeta> salvos = inserirLote(planetas, validos, itens);
+        for (int i = 0; i < validos.size(); i++) {
+            Planeta salvo = salvos.get(i);
+            if (salvo != null) {
+                cache.invalidar(salvo.getId(), salvo.getNome());
+                filtroDeNomes.adicionar(salvo.getNome());
+                itens[validos.get(i)] = ItemLoteResponse.criado(validos.get(i), new PlanetaResponse(salvo));
+            }
+        }
+        return new PlanetaLoteResponse(List.of(itens));
     }
 
     /**
      * Busca um planeta pelo seu ID.
      * <p>
-     * Este método lança uma exceção se o planeta não for encontrado.
+     * O planeta é lido do {@link PlanetaCache} e só é buscado no banco se não estiver no cache, por uma consulta
+     * que retorna a resposta sem carregar a entidade. Este método lança uma exceção se o planeta não for encontrado.
      * </p>
      *
      * @param id o ID do planeta a ser buscado
      * @return a resposta do planeta encontrado
      */
     public PlanetaResponse buscarPorId(Long id) {
-        Optional<Planeta> planeta = Optional.ofNullable(repository.findById(id).orElseThrow(
-                () -> new PlanetaNaoEncontradoException("Planeta nao enconntrado")
-        ));
-        return new PlanetaResponse(planeta.get());
+        return etapas.medir("buscarPorId", "cache", () -> cache.buscarPorId(id,
+                        chave -> etapas.medir("buscarPorId", "consulta", () -> repository.projetarPorId(chave))))
+                .orElseThrow(() -> PLANETA_NAO_ENCONTRADO);
     }
 
     /**
      * Busca um planeta pelo seu nome.
      * <p>
-     * Este método lança uma exceção se o planeta não for encontrado.
+     * Se o {@link FiltroDeNomes} indicar que o nome certamente não existe, a exceção é lançada sem consultar o
+     * banco. Caso contrário, o planeta é lido do {@link PlanetaCache} e só é buscado no banco se não estiver no
+     * cache, sem carregar a entidade. Este método lança uma exceção se o planeta não for encontrado.
      * </p>
      *
      * @param nome o nome do planeta a ser buscado
      * @return a resposta do planeta encontrado
      */
     public PlanetaResponse buscarPorNome(String nome) {
-        Optional<Planeta> planeta = Optional.ofNullable(repository.findByNome(nome).orElseThrow(
-                () -> new PlanetaNaoEncontradoException("Planeta nao enconntrado")
-        ));
-        return new PlanetaResponse(planeta.get());
+        if (!filtroDeNomes.podeExistir(nome))
+            throw PLANETA_NAO_ENCONTRADO;
+        return etapas.medir("buscarPorNome", "cache", () -> cache.buscarPorNome(nome,
+                        chave -> etapas.medir("buscarPorNome", "consulta", () -> repository.projetarPorNome(chave))))
+                .orElseThrow(() -> {
+                    filtroDeNomes.registrarFalsoPositivo();
+                    return PLANETA_NAO_ENCONTRADO;
+                });
     }
 
     /**
      * Busca todos os planetas de acordo com a especificação e paginação fornecidas.
+     * <p>
+     * Só as colunas da resposta são lidas, em uma transação somente leitura e sem entidades no contexto de
+     * persistência.
+     * </p>
      *
      * @param spec     a especificação para filtrar os planetas
      * @param pageable as informações de paginação
      * @return uma página contendo as respostas dos planetas encontrados
      */
-    public Page<PlanetaResponse> buscarTodos(Specification spec, Pageable pageable) {
-        return repository.findAll(spec, pageable);
+    public Page<PlanetaResponse> buscarTodos(Specification<Planeta> spec, Pageable pageable) {
+        return etapas.medir("buscarTodos", "consulta", () -> repository.projetar(spec, pageable));
+    }
+
+    /**
+     * Busca uma página de planetas a partir da posição do cursor.
+     * <p>
+     * Diferente da paginação por número de página, não usa OFFSET nem executa a consulta de contagem: os planetas
+     * posteriores ao cursor são buscados diretamente pelo índice da coluna ordenada, então o custo de uma página não
+     * depende de quantas páginas vieram antes. É buscado um planeta a mais do que o tamanho pedido apenas para
+     * saber se existe uma próxima página. Assim como na listagem paginada, só as colunas da resposta são lidas.
+     * </p>
+     *
+     * @param spec    a especificação para filtrar os planetas
+     * @param cursor  a posição a partir da qual os planetas serão buscados
+     * @param tamanho a quantidade máxima de planetas na página
+     * @return a página de planetas e o cursor da próxima página, nulo se esta for a última
+     * @throws PaginacaoInvalidaException se o tamanho estiver fora dos limites
+     */
+    public PlanetaCursorResponse buscarPorCursor(Specification<Planeta> spec, CursorPagina cursor, int tamanho) {
+        if (tamanho < 1 || tamanho > tamanhoMaximoPaginaCursor)
+            throw new PaginacaoInvalidaException("O tamanho da pagina deve estar entre 1 e " + tamanhoMaximoPaginaCursor);
+
+        Sort ordenacao = Sort.by(cursor.ordenacao().getCampo());
+        List<PlanetaResponse> planetas = etapas.medir("buscarPorCursor", "consulta", () -> repository.projetar(
+                spec.and(PlanetaSpecification.aposCursor(cursor)), ordenacao, tamanho + 1));
+
+        boolean haProximaPagina = planetas.size() > tamanho;
+        List<PlanetaResponse> conteudo = haProximaPagina ? planetas.subList(0, tamanho) : planetas;
+
+        String proximoCursor = null;
+        if (haProximaPagina) {
+            PlanetaResponse ultimo = conteudo.get(conteudo.size() - 1);
+            String ultimoValor = cursor.ordenacao() == CursorPagina.Ordenacao.ID ? String.valueOf(ultimo.getId()) : ultimo.getNome();
+            proximoCursor = new CursorPagina(cursor.ordenacao(), ultimoValor).codificar();
+        }
+        return new PlanetaCursorResponse(conteudo, conteudo.size(), proximoCursor);
     }
 
     /**
      * Deleta um planeta pelo seu ID.
      * <p>
-     * Este método lança uma exceção se o planeta não for encontrado.
+     * Este método lança uma exceção se o planeta não for encontrado. Depois da remoção, o planeta é removido do
+     * {@link PlanetaCache} tanto pelo ID quanto pelo nome, e do {@link FiltroDeNomes}.
      * </p>
      *
      * @param id o ID do planeta a ser deletado
      * @throws PlanetaNaoEncontradoException se o planeta não for encontrado
      */
     public void deletar(Long id) {
-        if (!repository.existsById(id))
-            throw new PlanetaNaoEncontradoException("Planeta nao encontrado");
-        repository.deleteById(id);
+        Planeta planeta = etapas.medir("deletar", "busca", () -> repository.findById(id)).orElseThrow(() -> PLANETA_NAO_ENCONTRADO);
+        etapas.medir("deletar", "remocao", () -> repository.delete(planeta));
+        etapas.medir("deletar", "cache", () -> {
+            cache.invalidar(id, planeta.getNome());
+            filtroDeNomes.remover(planeta.getNome());
+        });
+    }
+
+    /**
+     * Valida os itens do lote, registrando as falhas em {@code itens}.
+     * <p>
+     * Só os nomes que o {@link FiltroDeNomes} indica como possivelmente existentes são verificados no banco.
+     * </p>
+     *
+     * @param dtos  os itens do lote
+     * @param itens o resultado de cada item, preenchido para os itens inválidos
+     * @return os índices dos itens válidos
+     */
+    private List<Integer> validarLote(List<PlanetaRequest> dtos, ItemLoteResponse[] itens) {
+        Set<String> nomes = new HashSet<>();
+        for (PlanetaRequest dto : dtos) {
+            if (dto != null && dto.getNome() != null && filtroDeNomes.podeExistir(dto.getNome()))
+                nomes.add(dto.getNome());
+        }
+        Set<String> existentes = nomes.isEmpty() ? Set.of() : repository.buscarNomesExistentes(nomes);
+
+        Set<String> nomesNoLote = new HashSet<>();
+        List<Integer> validos = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            PlanetaRequest dto = dtos.get(i);
+            if (dto == null) {
+                itens[i] = ItemLoteResponse.falhou(i, List.of("Item nulo"));
+                continue;
+            }
+
+            List<String> erros = new ArrayList<>();
+            for (ConstraintViolation<PlanetaRequest> violacao : validator.validate(dto))
+                erros.add(violacao.getPropertyPath() + ": " + violacao.getMessage());
+            if (erros.isEmpty() && existentes.contains(dto.getNome()))
+                erros.add("Planeta ja cadastrado");
+            if (erros.isEmpty() && !nomesNoLote.add(dto.getNome()))
+                erros.add("Planeta repetido no lote");
+
+            if (erros.isEmpty())
+                validos.add(i);
+            else
+                itens[i] = ItemLoteResponse.falhou(i, erros);
+        }
+        return validos;
+    }
+
+    /**
+     * Monta o planeta a ser inserido, obtendo as aparições se o enriquecimento for síncrono.
+     *
+     * @param dto o DTO com os dados do planeta
+     * @return um Mono com o planeta, pendente de enriquecimento se as aparições não puderem ser obtidas
+     */
+    private Mono<Planeta> criarPlanetaEnriquecido(PlanetaRequest dto) {
+        if (enriquecimentoAssincrono)
+            return Mono.just(dto.criarPlanetaPendente());
+        return aparicoesService.buscarAparicoes(dto.getNome())
+                .map(dto::criarPlanetaComAparicoes)
+                .defaultIfEmpty(dto.criarPlanetaPendente());
+    }
+
+    /**
+     * Insere os planetas do lote em uma única transação com batch do JDBC.
+     * <p>
+     * Se a transação falhar por nome duplicado, os planetas são inseridos individualmente e as falhas são registradas
+     * em {@code itens}.
+     * </p>
+     *
+     * @param planetas os planetas a serem inseridos
+     * @param indices  o índice na requisição de cada planeta
+     * @param itens    o resultado de cada item, preenchido para os itens que falharem
+     * @return os planetas salvos, com null nas posições que falharam
+     */
+    private List<Planeta> inserirLote(List<Planeta> planetas, List<Integer> indices, ItemLoteResponse[] itens) {
+        if (planetas.isEmpty())
+            return planetas;
+
+        try {
+            return transactionTemplate.execute(status -> repository.saveAllAndFlush(planetas));
+        } catch (DataIntegrityViolationException e) {
+            if (!ViolacaoDeIntegridade.violouNomeUnico(e))
+                throw e;
+        }
+
+        List<Planeta> salvos = new ArrayList<>();
+        for (int i = 0; i < planetas.size(); i++) {
+            Planeta planeta = planetas.get(i);
+            try {
+                salvos.add(repository.saveAndFlush(planeta.copiaSemId()));
+            } catch (DataIntegrityViolationException e) {
+                if (!ViolacaoDeIntegridade.violouNomeUnico(e))
+                    throw e;
+                salvos.add(null);
+                itens[indices.get(i)] = ItemLoteResponse.falhou(indices.get(i), List.of("Planeta ja cadastrado"));
+            }
+        }
+        return salvos;
     }
 }
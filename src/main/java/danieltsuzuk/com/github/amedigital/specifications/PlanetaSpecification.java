@@ -1,8 +1,13 @@
 package danieltsuzuk.com.github.amedigital.specifications;
 
+import danieltsuzuk.com.github.amedigital.Utils.CursorPagina;
+import danieltsuzuk.com.github.amedigital.Utils.NomePlaneta;
 import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import danieltsuzuk.com.github.amedigital.exceptions.BuscaInvalidaException;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.util.Locale;
+
 /**
  * Classe de especificações para a entidade Planeta.
  * <p>
@@ -11,17 +16,69 @@ import org.springframework.data.jpa.domain.Specification;
  */
 public class PlanetaSpecification {
 
+    /**
+     * Modos de busca por nome.
+     * <p>
+     * CONTEM busca o termo em qualquer posição do nome e usa o índice de trigramas (pg_trgm) sobre lower(nome).
+     * PREFIXO busca os nomes que começam com o termo e usa o índice text_pattern_ops sobre lower(nome). CONTEM é o
+     * padrão para qualquer tamanho de termo; termos com menos de 3 caracteres não formam trigramas e levam a uma
+     * leitura completa da tabela, mas o resultado continua sendo o esperado. PREFIXO só é usado quando pedido.
+     * </p>
+     */
+    public enum ModoBusca {
+        CONTEM, PREFIXO;
+
+        /**
+         * Identifica o modo de busca pelo nome, sem diferenciar maiúsculas e minúsculas.
+         *
+         * @param nome o nome do modo de busca
+         * @return o modo de busca, ou CONTEM se o nome for nulo
+         * @throws BuscaInvalidaException se o nome não corresponder a nenhum modo
+         */
+        public static ModoBusca porNome(String nome) {
+            if (nome == null)
+                return CONTEM;
+            for (ModoBusca modo : values()) {
+                if (modo.name().equals(nome.trim().toUpperCase(Locale.ROOT)))
+                    return modo;
+            }
+            throw new BuscaInvalidaException("Busca deve ser contem ou prefixo");
+        }
+    }
+
     /**
      * Cria uma especificação para buscar planetas cujo nome contenha a string fornecida.
      * <p>
-     * Se o nome for nulo, a especificação retornará uma conjunção (sem filtro).
+     * A comparação não diferencia maiúsculas e minúsculas. Se o nome for nulo, a especificação retornará uma
+     * conjunção (sem filtro).
      * </p>
      *
      * @param nome o nome ou parte do nome a ser buscado
      * @return uma especificação para buscar planetas pelo nome
      */
     public static Specification<Planeta> likeNome(String nome) {
-        return (root, query, builder) -> nome == null ? builder.conjunction() : builder.like(root.get("nome"), "%" + nome + "%");
+        return buscarNome(nome, ModoBusca.CONTEM);
+    }
+
+    /**
+     * Cria uma especificação para buscar planetas pelo nome com o modo de busca informado.
+     * <p>
+     * A comparação é feita sobre lower(nome), a mesma expressão dos índices de busca, e os caracteres especiais do
+     * LIKE presentes no termo são escapados. Se o nome for nulo ou vazio, a especificação retornará uma conjunção
+     * (sem filtro).
+     * </p>
+     *
+     * @param nome o nome ou parte do nome a ser buscado
+     * @param modo o modo de busca
+     * @return uma especificação para buscar planetas pelo nome
+     */
+    public static Specification<Planeta> buscarNome(String nome, ModoBusca modo) {
+        return (root, query, builder) -> {
+            String padrao = NomePlaneta.padraoDeBusca(nome, modo == ModoBusca.PREFIXO);
+            if (padrao == null)
+                return builder.conjunction();
+            return builder.like(builder.lower(root.get("nome")), padrao, NomePlaneta.ESCAPE_LIKE);
+        };
     }
 
     /**
@@ -36,4 +93,25 @@ public class PlanetaSpecification {
     public static Specification<Planeta> hasId(Long id) {
         return (root, query, builder) -> id == null ? builder.conjunction() : builder.equal(root.get("id"), id);
     }
+
+    /**
+     * Cria uma especificação para buscar os planetas posteriores à posição do cursor.
+     * <p>
+     * Compara a coluna ordenada com o último valor já retornado, o que permite ao banco ir direto à posição pelo
+     * índice, sem percorrer as linhas anteriores como acontece com o OFFSET. Se o cursor for da primeira página,
+     * a especificação retornará uma conjunção (sem filtro).
+     * </p>
+     *
+     * @param cursor a posição da listagem
+     * @return uma especificação para buscar os planetas após o cursor
+     */
+    public static Specification<Planeta> aposCursor(CursorPagina cursor) {
+        return (root, query, builder) -> {
+            if (cursor.primeiraPagina())
+                return builder.conjunction();
+            if (cursor.ordenacao() == CursorPagina.Ordenacao.ID)
+                return builder.greaterThan(root.get("id"), cursor.ultimoId());
+            return builder.greaterThan(root.get("nome"), cursor.ultimoValor());
+        };
+    }
 }
@@ -0,0 +1,7 @@
+ALTER TABLE planetas
+ADD COLUMN status_enriquecimento VARCHAR(20) NOT NULL DEFAULT 'CONCLUIDO',
+ADD COLUMN tentativas_enriquecimento INTEGER NOT NULL DEFAULT 0,
+ADD COLUMN proxima_tentativa_enriquecimento TIMESTAMP WITH TIME ZONE;
+
+CREATE INDEX planetas_enriquecimento_pendente_idx ON planetas (proxima_tentativa_enriquecimento)
+WHERE status_enriquecimento = 'PENDENTE';
@@ -0,0 +1,3 @@
+ALTER TABLE planetas ALTER COLUMN id TYPE BIGINT;
+
+ALTER SEQUENCE planetas_id_seq AS BIGINT INCREMENT BY 50;
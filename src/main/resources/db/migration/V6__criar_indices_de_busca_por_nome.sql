@@ -0,0 +1,5 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX planetas_nome_trigrama_idx ON planetas USING GIN (lower(nome) gin_trgm_ops);
+
+CREATE INDEX planetas_nome_prefixo_idx ON planetas (lower(nome) text_pattern_ops);
@@ -0,0 +1,2 @@
+ALTER TABLE planetas
+ADD COLUMN versao BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,21 @@
+package danieltsuzuk.com.github.amedigital;
+
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Classe base para testes de integração que precisam de um PostgreSQL real.
+ * <p>
+ * O container é compartilhado entre os métodos de teste e a conexão é configurada automaticamente pelo Spring Boot.
+ * Os testes são ignorados quando não há Docker disponível no ambiente.
+ * </p>
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresContainerBase {
+
+    @Container
+    @ServiceConnection
+    protected static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+}
@@ -0,0 +1,50 @@
+package danieltsuzuk.com.github.amedigital;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica se o código da aplicação é seguro para execução com threads virtuais.
+ * <p>
+ * Até o Java 21, um bloco ou método synchronized que bloqueia (por exemplo, esperando a API do Star Wars ou o banco)
+ * prende a thread virtual à thread portadora. Por isso o código da aplicação deve usar os locks de
+ * java.util.concurrent no lugar de synchronized.
+ * </p>
+ */
+class ThreadsVirtuaisTest {
+
+    private static final Pattern SYNCHRONIZED = Pattern.compile("\\bsynchronized\\b");
+
+    /**
+     * Garante que nenhuma classe da aplicação usa synchronized.
+     *
+     * @throws IOException se ocorrer algum erro ao ler os fontes
+     */
+    @Test
+    public void naoDeveUsarSynchronizedNoCodigoDaAplicacao() throws IOException {
+        try (Stream<Path> fontes = Files.walk(Path.of("src", "main", "java"))) {
+            List<Path> comSynchronized = fontes
+                    .filter(fonte -> fonte.toString().endsWith(".java"))
+                    .filter(ThreadsVirtuaisTest::usaSynchronized)
+                    .toList();
+
+            assertTrue(comSynchronized.isEmpty(), "Classes com synchronized: " + comSynchronized);
+        }
+    }
+
+    private static boolean usaSynchronized(Path fonte) {
+        try {
+            return SYNCHRONIZED.matcher(Files.readString(fonte)).find();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
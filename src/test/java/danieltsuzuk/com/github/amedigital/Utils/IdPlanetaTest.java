@@ -0,0 +1,45 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Testes unitários para o reconhecimento de IDs nas variáveis de caminho.
+ */
+class IdPlanetaTest {
+
+    /**
+     * Verifica se a classificação concorda com o Long.parseLong, incluindo sinais, zeros à esquerda e os limites do
+     * intervalo de um long.
+     */
+    @Test
+    public void classificacaoDeveConcordarComOParseLong() {
+        List<String> variaveis = List.of("0", "42", "+42", "-42", "007", "00000000000000000000042",
+                "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+                "12345678901234567890", "Tatooine", "42a", "4 2", "", "+", "-", "--1");
+
+        for (String variavel : variaveis)
+            assertEquals(converte(variavel), IdPlaneta.ehId(variavel), variavel);
+    }
+
+    /**
+     * Verifica se um valor nulo é tratado como nome.
+     */
+    @Test
+    public void valorNuloNaoDeveSerId() {
+        assertFalse(IdPlaneta.ehId(null));
+    }
+
+    private static boolean converte(String variavel) {
+        try {
+            Long.parseLong(variavel);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package danieltsuzuk.com.github.amedigital.Utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testes unitários para a verificação do perfil de desempenho e o dimensionamento do pool de conexões.
+ */
+class PerfilDeDesempenhoTest {
+
+    /**
+     * Verifica se a configuração padrão, sem o perfil, tem todos os problemas apontados.
+     */
+    @Test
+    public void configuracaoPadraoDeveSerApontada() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "true")
+                .withProperty("spring.jpa.properties.hibernate.format_sql", "true")
+                .withProperty("spring.jpa.hibernate.ddl-auto", "update");
+
+        assertEquals(List.of("perfil \"desempenho\" inativo", "spring.jpa.show-sql=true", "hibernate.format_sql=true",
+                "spring.jpa.hibernate.ddl-auto=update"), new PerfilDeDesempenho(environment).problemas());
+    }
+
+    /**
+     * Verifica se o perfil ativo, com as suas configurações, não tem problemas.
+     */
+    @Test
+    public void perfilAtivoNaoDeveTerProblemas() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("spring.jpa.show-sql", "false")
+                .withProperty("spring.jpa.hibernate.ddl-auto", "validate");
+        environment.setActiveProfiles("desempenho");
+
+        assertTrue(new PerfilDeDesempenho(environment).problemas().isEmpty());
+    }
+
+    /**
+     * Verifica se o pool acompanha os processadores, limitado pela concorrência esperada e pelo tamanho mínimo.
+     */
+    @Test
+    public void poolDeveSerDimensionadoPelosProcessadoresEPelaConcorrencia() {
+        assertEquals(17, DimensionamentoDoPool.calcularTamanho(8, 1, 50));
+        assertEquals(10, DimensionamentoDoPool.calcularTamanho(32, 1, 10));
+        assertEquals(DimensionamentoDoPool.TAMANHO_MINIMO, DimensionamentoDoPool.calcularTamanho(1, 0, 1));
+    }
+}
@@ -0,0 +1,58 @@
+package danieltsuzuk.com.github.amedigital.controllers;
+
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import danieltsuzuk.com.github.amedigital.exceptions.PlanetaNaoEncontradoException;
+import danieltsuzuk.com.github.amedigital.services.PlanetaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes de integração para as métricas publicadas no endpoint do Prometheus.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricasTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PlanetaService service;
+
+    /**
+     * Verifica se as exceções tratadas, a serialização das respostas e as requisições recebidas são publicadas no
+     * formato do Prometheus, com as URIs agrupadas pelo template do endpoint.
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    public void devePublicarAsMetricasNoEndpointDoPrometheus() throws Exception {
+        when(service.buscarPorId(1L)).thenReturn(new PlanetaResponse(new Planeta(1L, "Tatooine", "seco", "deserto", 5)));
+        when(service.buscarPorId(2L)).thenThrow(new PlanetaNaoEncontradoException("Planeta nao encontrado"));
+        mockMvc.perform(get("/planetas/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/planetas/2")).andExpect(status().isNotFound());
+
+        String metricas = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(metricas.contains("planetas_erros_total{application=\"AmeDigital\",status=\"404\",tipo=\"PlanetaNaoEncontradoException\"} 1.0"),
+                metricas);
+        assertTrue(metricas.contains("planetas_serializacao_seconds_bucket{application=\"AmeDigital\",tipo=\"PlanetaResponse\""));
+        assertTrue(metricas.contains("uri=\"/planetas/{variavel}\""));
+        assertFalse(metricas.contains("uri=\"/planetas/1\""));
+    }
+}
@@ -1,7 +1,11 @@
 package danieltsuzuk.com.github.amedigital.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import danieltsuzuk.com.github.amedigital.Utils.CursorPagina;
 import danieltsuzuk.com.github.amedigital.dto.ErroResponse;
+import danieltsuzuk.com.github.amedigital.dto.ItemLoteResponse;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaCursorResponse;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaLoteResponse;
 import danieltsuzuk.com.github.amedigital.dto.PlanetaRequest;
 import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
 import danieltsuzuk.com.github.amedigital.entities.Planeta;
@@ -18,17 +22,21 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.net.URI;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -148,6 +156,62 @@ public void deveRetornarCodigo201QuandoCriarPlanetaComSucesso() throws Exception
         assertEquals(responseErro.getErrors().get(0), "Planeta ja cadastrado");
     }
 
+    /**
+     * Testa a criação de planetas em lote com sucesso.
+     * <p>
+     * Verifica se o código de status HTTP 201 (Created) é retornado quando todos os itens do lote são criados.
+     * </p>
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    @Transactional
+    public void deveRetornarCodigo201QuandoCriarLoteComSucesso() throws Exception {
+        when(service.criarEmLote(any())).thenReturn(new PlanetaLoteResponse(
+                List.of(ItemLoteResponse.criado(0, new PlanetaResponse(planeta)))));
+
+        MvcResult response = mockMvc.perform(post("/planetas/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + request200 + "]"))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        String responseBody = response.getResponse().getContentAsString();
+        PlanetaLoteResponse lote = new ObjectMapper().readValue(responseBody, PlanetaLoteResponse.class);
+
+        assertEquals(lote.getCriados(), 1);
+        assertEquals(lote.getFalhas(), 0);
+        assertEquals(lote.getItens().get(0).getPlaneta().getNome(), "Tatooine");
+    }
+
+    /**
+     * Testa a criação de planetas em lote com itens inválidos.
+     * <p>
+     * Verifica se o código de status HTTP 207 (Multi-Status) é retornado quando algum item do lote falha.
+     * </p>
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    @Transactional
+    public void deveRetornarCodigo207QuandoAlgumItemDoLoteFalhar() throws Exception {
+        when(service.criarEmLote(any())).thenReturn(new PlanetaLoteResponse(List.of(
+                ItemLoteResponse.criado(0, new PlanetaResponse(planeta)),
+                ItemLoteResponse.falhou(1, List.of("Planeta ja cadastrado")))));
+
+        MvcResult response = mockMvc.perform(post("/planetas/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + request200 + "," + request200 + "]"))
+                .andExpect(status().isMultiStatus())
+                .andReturn();
+
+        String responseBody = response.getResponse().getContentAsString();
+        PlanetaLoteResponse lote = new ObjectMapper().readValue(responseBody, PlanetaLoteResponse.class);
+
+        assertEquals(lote.getFalhas(), 1);
+        assertEquals(lote.getItens().get(1).getErros().get(0), "Planeta ja cadastrado");
+    }
+
     /**
      * Testa a busca de um planeta por ID com sucesso.
      * <p>
@@ -177,6 +241,63 @@ public void deveRetornarCodigo201QuandoCriarPlanetaComSucesso() throws Exception
         assertEquals(planeta.getAparicoes(), 5);
     }
 
+    /**
+     * Testa a busca condicional de um planeta por ID.
+     * <p>
+     * Verifica se a resposta traz o ETag e o Cache-Control, e se o código de status HTTP 304 (Not Modified) é
+     * retornado, sem corpo, quando o If-None-Match corresponde ao ETag atual.
+     * </p>
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    @Transactional
+    public void deveRetornarCodigo304QuandoOPlanetaNaoMudouDesdeOEtag() throws Exception {
+        when(service.buscarPorId(1L)).thenReturn(new PlanetaResponse(planeta));
+
+        MvcResult response = mockMvc.perform(get("/planetas/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn();
+        String etag = response.getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals("\"1-0\"", etag);
+
+        MvcResult naoModificado = mockMvc.perform(get("/planetas/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+        assertEquals("", naoModificado.getResponse().getContentAsString());
+
+        mockMvc.perform(get("/planetas/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-7\""))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Testa a listagem condicional de planetas.
+     * <p>
+     * Verifica se a listagem retorna 304 (Not Modified) para o ETag da página e 200 (OK) quando um planeta da
+     * página muda de versão.
+     * </p>
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    @Transactional
+    public void deveRetornarCodigo304QuandoAListagemNaoMudouDesdeOEtag() throws Exception {
+        when(service.buscarTodos(any(Specification.class), any(Pageable.class))).thenReturn(page);
+
+        String etag = mockMvc.perform(get("/planetas"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/planetas").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        PlanetaResponse alterado = new PlanetaResponse(planeta);
+        alterado.setVersao(1);
+        when(service.buscarTodos(any(Specification.class), any(Pageable.class))).thenReturn(new PageImpl<>(List.of(alterado)));
+        mockMvc.perform(get("/planetas").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
     /**
      * Testa a busca de um planeta por ID não encontrado.
      * <p>
@@ -225,6 +346,29 @@ public void deveRetornarCodigo201QuandoCriarPlanetaComSucesso() throws Exception
         assertEquals(planeta.getAparicoes(), 5);
     }
 
+    /**
+     * Testa as rotas explícitas de busca por ID e por nome.
+     * <p>
+     * Verifica se /planetas/id/{id} busca pelo ID e se /planetas/nome/{nome} busca pelo nome decodificado da URL,
+     * mesmo quando o nome é um número.
+     * </p>
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    public void rotasExplicitasDevemBuscarPorIdEPorNome() throws Exception {
+        when(service.buscarPorId(1L)).thenReturn(new PlanetaResponse(planeta));
+        when(service.buscarPorNome(any())).thenReturn(new PlanetaResponse(planeta));
+
+        mockMvc.perform(get("/planetas/id/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/planetas/nome/{nome}", "1138")).andExpect(status().isOk());
+        mockMvc.perform(get(URI.create("/planetas/nome/Yavin%20IV"))).andExpect(status().isOk());
+
+        verify(service).buscarPorId(1L);
+        verify(service).buscarPorNome("1138");
+        verify(service).buscarPorNome("Yavin IV");
+    }
+
     /**
      * Testa a busca de um planeta por nome não encontrado.
      * <p>
@@ -265,6 +409,54 @@ public void deveRetornarCodigo201QuandoCriarPlanetaComSucesso() throws Exception
                 .andReturn();
     }
 
+    /**
+     * Testa o endpoint de busca de planetas com paginação por cursor.
+     * <p>
+     * Verifica se o cursor recebido é decodificado com a ordenação que ele carrega e repassado ao serviço, e se o
+     * cursor da próxima página é devolvido na resposta.
+     * </p>
+     *
+     * @throws Exception se ocorrer algum erro durante a execução do teste
+     */
+    @Test
+    @Transactional
+    public void deveRetornarCodigo200ComAPaginaDoCursor() throws Exception {
+        CursorPagina cursor = new CursorPagina(CursorPagina.Ordenacao.NOME, "Alderaan");
+        String proximoCursor = new CursorPagina(CursorPagina.Ordenacao.NOME, "Tatooine").codificar();
+        when(service.buscarPorCursor(any(Specification.class), eq(cursor), eq(1)))
+                .thenReturn(new PlanetaCursorResponse(List.of(new PlanetaResponse(planeta)), 1, proximoCursor));
+
+        MvcResult response = mockMvc.perform(get("/planetas")
+                        .param("after", cursor.codificar())
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String responseBody = response.getResponse().getContentAsString();
+        PlanetaCursorResponse pagina = new ObjectMapper().readValue(responseBody, PlanetaCursorResponse.class);
+
+        assertEquals(pagina.getProximoCursor(), proximoCursor);
+        assertEquals(pagina.getConteudo().get(0).getNome(), "Tatooine");
+        verify(service, never()).buscarTodos(any(Specification.class), any(Pageable.class));
+    }
+
+    /**
+     * Testa o endpoint de busca de planetas com um cursor inválido.
+     * <p>
+     * Verifica se o código de status HTTP 400 (Bad Request) é retornado quando o cursor não foi gerado pela API.
+     * </p>
+     *
+     * @throws Exception se ocorrer algum erro durante a execução do teste
+     */
+    @Test
+    @Transactional
+    public void deveRetornarCodigo400QuandoOCursorForInvalido() throws Exception {
+        mockMvc.perform(get("/planetas")
+                        .param("after", "cursor-invalido"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+    }
+
     /**
      * Testa o endpoint de exclusão de planeta.
      * <p>
@@ -0,0 +1,177 @@
+package danieltsuzuk.com.github.amedigital.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import danieltsuzuk.com.github.amedigital.services.PlanetaService;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes de integração para o rastreamento distribuído.
+ * <p>
+ * Os spans são exportados para um {@link InMemorySpanExporter}, com todas as requisições amostradas, e a API do
+ * Star Wars é simulada por um servidor HTTP local que guarda o cabeçalho traceparent recebido.
+ * </p>
+ */
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(metrics = false)
+class RastreamentoTest {
+
+    private static final List<String> TRACEPARENTS = new CopyOnWriteArrayList<>();
+    private static final HttpServer SWAPI = iniciarSwapi();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter exportador;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private PlanetaService service;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TestConfiguration
+    static class Exportador {
+
+        @Bean
+        InMemorySpanExporter exportadorEmMemoria() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @DynamicPropertySource
+    static void propriedades(DynamicPropertyRegistry registry) {
+        registry.add("swapi.url", () -> "http://127.0.0.1:" + SWAPI.getAddress().getPort() + "/api/");
+    }
+
+    @AfterAll
+    static void pararSwapi() {
+        SWAPI.stop(0);
+    }
+
+    @BeforeEach
+    public void configuracao() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        exportador.reset();
+        TRACEPARENTS.clear();
+    }
+
+    /**
+     * Verifica se a busca gera, no mesmo trace, os spans da requisição, do endpoint, do método do serviço, das etapas
+     * e do comando SQL, cada um filho do anterior.
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    public void buscaDeveGerarSpansDoEndpointAteOComandoSql() throws Exception {
+        mockMvc.perform(get("/planetas/987654321")).andExpect(status().isNotFound());
+
+        Map<String, SpanData> spans = spansPorNome();
+        SpanData requisicao = spans.get("http get /planetas/{variavel}");
+        SpanData endpoint = spans.get("planeta-controller#buscar-por-id-ou-nome");
+        SpanData servico = spans.get("planeta-service#buscar-por-id");
+        SpanData cache = spans.get("buscar-por-id cache");
+        SpanData consulta = spans.get("buscar-por-id consulta");
+        SpanData conexao = spans.get("connection");
+        SpanData sql = spans.get("query");
+        assertNotNull(sql, spans.keySet().toString());
+
+        assertEquals(requisicao.getSpanId(), endpoint.getParentSpanId());
+        assertEquals(endpoint.getSpanId(), servico.getParentSpanId());
+        assertEquals(servico.getSpanId(), cache.getParentSpanId());
+        assertEquals(cache.getSpanId(), consulta.getParentSpanId());
+        assertEquals(consulta.getSpanId(), conexao.getParentSpanId());
+        assertEquals(conexao.getSpanId(), sql.getParentSpanId());
+        assertTrue(spans.values().stream().allMatch(span -> span.getTraceId().equals(requisicao.getTraceId())));
+    }
+
+    /**
+     * Verifica se a chamada à API do Star Wars gera um span cliente e envia o contexto do trace da requisição.
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    public void chamadaAApiDoStarWarsDevePropagarOContextoDoTrace() throws Exception {
+        String nome = "Rastreado " + UUID.randomUUID().toString().substring(0, 8);
+        String corpo = mockMvc.perform(post("/planetas")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"" + nome + "\",\"clima\":\"arido\",\"terreno\":\"deserto\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        service.deletar(objectMapper.readTree(corpo).path("id").asLong());
+
+        Map<String, SpanData> spans = spansPorNome();
+        SpanData requisicao = spans.get("http post /planetas");
+        SpanData chamada = spans.get("http get");
+        assertNotNull(chamada, spans.keySet().toString());
+        assertEquals(spans.get("criar aparicoes").getSpanId(), chamada.getParentSpanId());
+        assertEquals(1, TRACEPARENTS.size());
+        assertTrue(TRACEPARENTS.get(0).startsWith("00-" + requisicao.getTraceId() + "-" + chamada.getSpanId()),
+                TRACEPARENTS.get(0));
+    }
+
+    private Map<String, SpanData> spansPorNome() {
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        return exportador.getFinishedSpanItems().stream()
+                .collect(Collectors.toMap(SpanData::getName, Function.identity(), (primeiro, segundo) -> primeiro));
+    }
+
+    private static HttpServer iniciarSwapi() {
+        try {
+            HttpServer servidor = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            servidor.createContext("/api/planets/", troca -> {
+                String traceparent = troca.getRequestHeaders().getFirst("traceparent");
+                TRACEPARENTS.add(traceparent == null ? "" : traceparent);
+                byte[] resposta = "{\"count\":0,\"next\":null,\"previous\":null,\"results\":[]}"
+                        .getBytes(StandardCharsets.UTF_8);
+                troca.getResponseHeaders().set("Content-Type", "application/json");
+                troca.sendResponseHeaders(200, resposta.length);
+                troca.getResponseBody().write(resposta);
+                troca.close();
+            });
+            servidor.start();
+            return servidor;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package danieltsuzuk.com.github.amedigital.exceptions;
+
+import danieltsuzuk.com.github.amedigital.dto.ErroResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Testes unitários para o tratamento das exceções de domínio.
+ */
+class TratadorDeExceptionsTest {
+
+    private SimpleMeterRegistry registry;
+    private TratadorDeExceptions tratador;
+
+    @BeforeEach
+    public void configuracao() {
+        registry = new SimpleMeterRegistry();
+        tratador = new TratadorDeExceptions();
+        ReflectionTestUtils.setField(tratador, "respostas", new RespostasDeErro(registry));
+    }
+
+    /**
+     * Verifica se as exceções de domínio não capturam a pilha de chamadas nem acumulam exceções suprimidas, o que
+     * permite compartilhar a mesma instância entre requisições.
+     */
+    @Test
+    public void excecoesDeDominioNaoDevemGuardarPilhaNemEstado() {
+        PlanetaNaoEncontradoException naoEncontrado = new PlanetaNaoEncontradoException("Planeta nao encontrado");
+        BancoDeDadosException jaCadastrado = new BancoDeDadosException("Planeta ja cadastrado");
+        naoEncontrado.addSuppressed(new IllegalStateException("falha"));
+
+        assertEquals(0, naoEncontrado.getStackTrace().length);
+        assertEquals(0, naoEncontrado.getSuppressed().length);
+        assertEquals(0, jaCadastrado.getStackTrace().length);
+    }
+
+    /**
+     * Verifica se a resposta reaproveita a lista de erros montada na exceção e se cada erro é contado.
+     */
+    @Test
+    public void respostaDeveReaproveitarOsErrosDaExcecao() {
+        PlanetaNaoEncontradoException e = new PlanetaNaoEncontradoException("Planeta nao encontrado");
+
+        tratador.bancoDeDadosException(new MockHttpServletRequest("GET", "/planetas/1"), e);
+        ResponseEntity<Object> resposta = tratador.bancoDeDadosException(new MockHttpServletRequest("GET", "/planetas/2"), e);
+
+        ErroResponse erro = (ErroResponse) resposta.getBody();
+        assertEquals(404, resposta.getStatusCode().value());
+        assertSame(e.getErros(), erro.getErrors());
+        assertEquals("/planetas/2", erro.getPath());
+        assertEquals(2, registry.get("planetas.erros")
+                .tags("tipo", "PlanetaNaoEncontradoException", "status", "404")
+                .counter().count());
+    }
+
+    /**
+     * Verifica se as exceções de requisição inválida também usam a lista de erros montada na exceção.
+     */
+    @Test
+    public void requisicaoInvalidaDeveReaproveitarOsErrosDaExcecao() {
+        PaginacaoInvalidaException e = new PaginacaoInvalidaException("Cursor invalido");
+
+        ResponseEntity<Object> resposta = tratador.paginacaoInvalidaException(new MockHttpServletRequest("GET", "/planetas/cursor"), e);
+
+        ErroResponse erro = (ErroResponse) resposta.getBody();
+        assertEquals(400, resposta.getStatusCode().value());
+        assertEquals(400, erro.getStatus());
+        assertSame(e.getErros(), erro.getErrors());
+        assertEquals(List.of("Cursor invalido"), erro.getErrors());
+    }
+}
@@ -0,0 +1,184 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Testes unitários para o serviço de aparições.
+ * <p>
+ * A API do Star Wars é simulada por uma ExchangeFunction que conta as chamadas recebidas.
+ * </p>
+ */
+class AparicoesServiceTest {
+
+    private static final String TATOOINE = "{\"count\":1,\"next\":null,\"previous\":null,\"results\":"
+            + "[{\"name\":\"Tatooine\",\"films\":[\"1\",\"3\",\"4\",\"5\",\"6\"]}]}";
+    private static final String PAGINA_1 = "{\"count\":2,\"next\":\"https://swapi.dev/api/planets/?page=2\","
+            + "\"previous\":null,\"results\":[{\"name\":\"Tatooine\",\"films\":[\"1\",\"3\",\"4\",\"5\",\"6\"]}]}";
+    private static final String PAGINA_2 = "{\"count\":2,\"next\":null,\"previous\":null,"
+            + "\"results\":[{\"name\":\"Alderaan\",\"films\":[\"1\",\"6\"]}]}";
+    private static final String VAZIO = "{\"count\":0,\"next\":null,\"previous\":null,\"results\":[]}";
+
+    private AtomicInteger chamadas;
+    private Duration latencia = Duration.ZERO;
+    private SimpleMeterRegistry registry;
+    private CatalogoPlanetasService catalogo;
+    private CircuitBreakerRegistry circuitBreakers;
+    private AparicoesService service;
+
+    @BeforeEach
+    public void configuracao() {
+        chamadas = new AtomicInteger();
+        registry = new SimpleMeterRegistry();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    chamadas.incrementAndGet();
+                    String consulta = request.url().getQuery();
+                    String corpo;
+                    if (consulta == null)
+                        corpo = PAGINA_1;
+                    else if (consulta.contains("page=2"))
+                        corpo = PAGINA_2;
+                    else
+                        corpo = consulta.toLowerCase().contains("tatooine") ? TATOOINE : VAZIO;
+                    return Mono.delay(latencia).thenReturn(ClientResponse.create(HttpStatus.OK)
+                            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                            .body(corpo)
+                            .build());
+                })
+                .build();
+        catalogo = new CatalogoPlanetasService(webClient, true);
+        circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+        service = new AparicoesService(webClient, catalogo, registry, circuitBreakers, BulkheadRegistry.ofDefaults(), Duration.ofHours(1), Duration.ofMinutes(1), 100);
+    }
+
+    /**
+     * Verifica se a segunda busca pelo mesmo nome, mesmo com outra grafia, é atendida pelo cache.
+     */
+    @Test
+    public void deveConsultarApiApenasUmaVezParaOMesmoNome() {
+        assertEquals(5, service.buscarAparicoes("Tatooine").block());
+        assertEquals(5, service.buscarAparicoes(" TATOOINE ").block());
+
+        assertEquals(1, chamadas.get());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "swapi.aparicoes").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    /**
+     * Verifica se as buscas sem correspondência também são guardadas no cache.
+     */
+    @Test
+    public void deveGuardarBuscasSemCorrespondencia() {
+        assertEquals(0, service.buscarAparicoes("Inexistente").block());
+        assertEquals(0, service.buscarAparicoes("inexistente").block());
+
+        assertEquals(1, chamadas.get());
+    }
+
+    /**
+     * Verifica se, com o catálogo carregado, as buscas de planetas conhecidos não fazem chamadas externas.
+     */
+    @Test
+    public void deveAtenderBuscasPeloCatalogoCarregado() {
+        catalogo.atualizar();
+        int chamadasDaCarga = chamadas.get();
+
+        assertEquals(2, chamadasDaCarga);
+        assertEquals(5, service.buscarAparicoes("Tatooine").block());
+        assertEquals(2, service.buscarAparicoes("alderaan").block());
+        assertEquals(chamadasDaCarga, chamadas.get());
+    }
+
+    /**
+     * Verifica se, com o circuito aberto, a busca termina vazia sem chamar a API.
+     */
+    @Test
+    public void deveRetornarVazioSemChamarApiQuandoOCircuitoEstiverAberto() {
+        circuitBreakers.circuitBreaker("swapi").transitionToOpenState();
+
+        assertNull(service.buscarAparicoes("Tatooine").block());
+        assertEquals(0, chamadas.get());
+        assertEquals(1.0, registry.get("swapi.aparicoes.contingencia").counter().count());
+    }
+
+    /**
+     * Verifica se buscas simultâneas pelo mesmo nome, em grafias diferentes, geram uma única chamada externa.
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    public void deveCompartilharAConsultaEntreBuscasSimultaneasDoMesmoNome() throws Exception {
+        latencia = Duration.ofMillis(300);
+        int buscas = 64;
+        ExecutorService executor = Executors.newFixedThreadPool(buscas);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> resultados = new ArrayList<>();
+        for (int i = 0; i < buscas; i++) {
+            String nome = i % 2 == 0 ? "Tatooine" : " tatooine";
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                return service.buscarAparicoes(nome).block();
+            }));
+        }
+
+        largada.countDown();
+        for (Future<Integer> resultado : resultados)
+            assertEquals(5, resultado.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(1, chamadas.get());
+        assertEquals(buscas - 1, registry.get("swapi.aparicoes.coalescidas").counter().count());
+    }
+
+    /**
+     * Verifica se buscas simultâneas por nomes diferentes não são agrupadas entre si.
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    public void deveFazerUmaChamadaPorNomeEmBuscasSimultaneas() throws Exception {
+        latencia = Duration.ofMillis(300);
+        int nomes = 4;
+        int buscasPorNome = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(nomes * buscasPorNome);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Integer>> resultados = new ArrayList<>();
+        for (int i = 0; i < nomes * buscasPorNome; i++) {
+            String nome = "Planeta " + (i % nomes);
+            resultados.add(executor.submit(() -> {
+                largada.await();
+                return service.buscarAparicoes(nome).block();
+            }));
+        }
+
+        largada.countDown();
+        for (Future<Integer> resultado : resultados)
+            assertEquals(0, resultado.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(nomes, chamadas.get());
+    }
+}
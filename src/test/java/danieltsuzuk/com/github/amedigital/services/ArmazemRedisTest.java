@@ -0,0 +1,73 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Testes de integração do armazenamento compartilhado sobre um Redis real.
+ * <p>
+ * Os testes são ignorados quando não há Docker disponível no ambiente.
+ * </p>
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ArmazemRedisTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static ArmazemRedis armazem;
+
+    @BeforeAll
+    public static void configuracao() {
+        armazem = new ArmazemRedis("redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379), Duration.ofSeconds(2));
+    }
+
+    @AfterAll
+    public static void finalizacao() {
+        armazem.fechar();
+    }
+
+    /**
+     * Verifica a gravação, a leitura, a expiração e a remoção de chaves.
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    public void deveGravarLerERemoverChaves() throws Exception {
+        armazem.gravar("planetas:id:1", "tatooine", Duration.ofMinutes(1));
+        armazem.gravar("planetas:id:2", "alderaan", Duration.ofMillis(100));
+        assertEquals("tatooine", armazem.buscar("planetas:id:1"));
+
+        armazem.remover("planetas:id:1");
+        Thread.sleep(300);
+        assertNull(armazem.buscar("planetas:id:1"));
+        assertNull(armazem.buscar("planetas:id:2"));
+    }
+
+    /**
+     * Verifica se as mensagens publicadas chegam aos ouvintes do canal.
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    public void devePublicarParaOsAssinantes() throws Exception {
+        BlockingQueue<String> recebidas = new LinkedBlockingQueue<>();
+        armazem.assinar("planetas:teste", recebidas::add);
+
+        armazem.publicar("planetas:teste", "1|Tatooine");
+
+        assertEquals("1|Tatooine", recebidas.poll(5, TimeUnit.SECONDS));
+    }
+}
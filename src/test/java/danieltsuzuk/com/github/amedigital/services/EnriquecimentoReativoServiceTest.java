@@ -0,0 +1,104 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.entities.PlanetaReativo;
+import danieltsuzuk.com.github.amedigital.entities.StatusEnriquecimento;
+import danieltsuzuk.com.github.amedigital.repositories.PlanetaReativoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para o enriquecimento em segundo plano da pilha reativa.
+ */
+class EnriquecimentoReativoServiceTest {
+
+    private PlanetaReativoRepository repository;
+    private AparicoesService aparicoesService;
+    private SimpleMeterRegistry registry;
+    private EnriquecimentoReativoService service;
+
+    @BeforeEach
+    public void configuracao() {
+        repository = mock(PlanetaReativoRepository.class);
+        aparicoesService = mock(AparicoesService.class);
+        registry = new SimpleMeterRegistry();
+        service = new EnriquecimentoReativoService(repository, aparicoesService, registry, 100, 8, 2,
+                Duration.ofSeconds(10), Duration.ofMinutes(30));
+        when(repository.concluirEnriquecimento(any(), anyInt())).thenReturn(Mono.just(1));
+        when(repository.registrarFalhaDeEnriquecimento(any(), any(), anyInt(), any())).thenReturn(Mono.just(1));
+    }
+
+    /**
+     * Verifica se as aparições obtidas concluem o enriquecimento e se a API indisponível agenda uma nova tentativa.
+     */
+    @Test
+    public void pendentesDevemSerConcluidosOuReagendados() {
+        when(repository.buscarPendentesDeEnriquecimento(any(), eq(100))).thenReturn(Flux.just(
+                new PlanetaReativo(1L, "Tatooine", "arido", "deserto", 0),
+                new PlanetaReativo(2L, "Alderaan", "temperado", "montanhoso", 0)));
+        when(aparicoesService.buscarAparicoes("Tatooine")).thenReturn(Mono.just(5));
+        when(aparicoesService.buscarAparicoes("Alderaan")).thenReturn(Mono.empty());
+        when(repository.countByStatusEnriquecimento(StatusEnriquecimento.PENDENTE)).thenReturn(Mono.just(1L));
+
+        service.processarPendentes().block();
+
+        verify(repository).concluirEnriquecimento(1L, 5);
+        verify(repository).registrarFalhaDeEnriquecimento(eq(2L), eq("PENDENTE"), eq(1), any(Instant.class));
+        assertEquals(1, registry.get("planetas.enriquecimento.pendentes").gauge().value());
+    }
+
+    /**
+     * Verifica se, ao atingir o limite de tentativas, o planeta passa para o status FALHOU sem nova tentativa.
+     */
+    @Test
+    public void limiteDeTentativasDeveMarcarOPlanetaComoFalho() {
+        when(repository.buscarPendentesDeEnriquecimento(any(), eq(100))).thenReturn(Flux.just(
+                new PlanetaReativo(1L, "Tatooine", "arido", "deserto", 0)));
+        when(aparicoesService.buscarAparicoes("Tatooine")).thenReturn(Mono.error(new IllegalStateException("falha")));
+        when(repository.countByStatusEnriquecimento(StatusEnriquecimento.PENDENTE)).thenReturn(Mono.just(0L));
+        service = new EnriquecimentoReativoService(repository, aparicoesService, new SimpleMeterRegistry(), 100, 8, 1,
+                Duration.ofSeconds(10), Duration.ofMinutes(30));
+
+        service.processarPendentes().block();
+
+        verify(repository).registrarFalhaDeEnriquecimento(eq(1L), eq("FALHOU"), eq(1), isNull());
+        verify(repository, never()).concluirEnriquecimento(any(), anyInt());
+    }
+
+    /**
+     * Verifica se cada assinatura do mesmo Mono, como as feitas pelo agendador, busca um novo lote com o instante
+     * da assinatura.
+     */
+    @Test
+    public void cadaAssinaturaDeveBuscarUmNovoLote() throws InterruptedException {
+        when(repository.buscarPendentesDeEnriquecimento(any(), eq(100))).thenReturn(Flux.empty());
+        when(repository.countByStatusEnriquecimento(StatusEnriquecimento.PENDENTE)).thenReturn(Mono.just(0L));
+        Mono<Void> execucao = service.processarPendentes();
+
+        execucao.block();
+        Thread.sleep(5);
+        execucao.block();
+
+        ArgumentCaptor<Instant> instantes = ArgumentCaptor.forClass(Instant.class);
+        verify(repository, times(2)).buscarPendentesDeEnriquecimento(instantes.capture(), eq(100));
+        assertTrue(instantes.getAllValues().get(1).isAfter(instantes.getAllValues().get(0)));
+    }
+}
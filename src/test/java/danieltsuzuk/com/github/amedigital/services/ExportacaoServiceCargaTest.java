@@ -0,0 +1,97 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.PostgresContainerBase;
+import danieltsuzuk.com.github.amedigital.Utils.FormatoArquivo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga para a exportação de planetas.
+ * <p>
+ * Exporta 1 milhão de planetas e mede o uso de memória no meio da exportação, depois de uma coleta de lixo, para
+ * verificar que os planetas já escritos não ficam retidos. Por demorar, só é executado com -Dbenchmark=true.
+ * </p>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ExportacaoServiceCargaTest extends PostgresContainerBase {
+
+    private static final int PLANETAS = 1_000_000;
+    private static final long CRESCIMENTO_MAXIMO_DA_MEMORIA = 64L * 1024 * 1024;
+
+    @Autowired
+    private ExportacaoService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Verifica se a memória usada no meio da exportação não cresce com a quantidade de planetas já escritos.
+     */
+    @Test
+    public void usoDeMemoriaDevePermanecerEstavelAoExportarUmMilhaoDePlanetas() {
+        jdbcTemplate.update("insert into planetas (id, nome, clima, terreno, aparicoes) " +
+                "select nextval('planetas_id_seq'), 'Planeta ' || n, 'temperado', 'montanhoso', n % 6 " +
+                "from generate_series(1, ?) n", PLANETAS);
+
+        MemoryMXBean memoria = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long memoriaInicial = memoria.getHeapMemoryUsage().getUsed();
+        SaidaContadora saida = new SaidaContadora(PLANETAS / 2, memoria);
+
+        long inicio = System.nanoTime();
+        long exportados = service.exportar(saida, FormatoArquivo.NDJSON);
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        System.out.printf("Exportados %d planetas em %.1fs (%.0f planetas/s, %d MB), memoria no meio: +%d MB%n",
+                exportados, segundos, exportados / segundos, saida.bytes / (1024 * 1024),
+                (saida.memoriaNoMeio - memoriaInicial) / (1024 * 1024));
+        assertEquals(PLANETAS, exportados);
+        assertEquals(PLANETAS, saida.linhas);
+        assertTrue(saida.memoriaNoMeio - memoriaInicial < CRESCIMENTO_MAXIMO_DA_MEMORIA,
+                "Crescimento da memoria: " + (saida.memoriaNoMeio - memoriaInicial));
+    }
+
+    /**
+     * Saída que descarta os bytes, conta as linhas e mede a memória usada ao atingir a linha informada.
+     */
+    private static class SaidaContadora extends OutputStream {
+
+        private final long linhaDaMedicao;
+        private final MemoryMXBean memoria;
+        private long linhas;
+        private long bytes;
+        private long memoriaNoMeio;
+
+        SaidaContadora(long linhaDaMedicao, MemoryMXBean memoria) {
+            this.linhaDaMedicao = linhaDaMedicao;
+            this.memoria = memoria;
+        }
+
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int inicio, int tamanho) {
+            bytes += tamanho;
+            for (int i = inicio; i < inicio + tamanho; i++) {
+                if (b[i] == '\n' && ++linhas == linhaDaMedicao) {
+                    System.gc();
+                    memoriaNoMeio = memoria.getHeapMemoryUsage().getUsed();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.Utils.FiltroBloomContador;
+import danieltsuzuk.com.github.amedigital.repositories.PlanetaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para o filtro de nomes de planetas e o filtro de Bloom com contadores.
+ */
+class FiltroDeNomesTest {
+
+    private static final int NOMES = 100_000;
+
+    private PlanetaRepository repository;
+    private SimpleMeterRegistry registry;
+    private FiltroDeNomes filtro;
+
+    @BeforeEach
+    public void configuracao() {
+        repository = mock(PlanetaRepository.class);
+        registry = new SimpleMeterRegistry();
+        filtro = new FiltroDeNomes(repository, mock(PlatformTransactionManager.class), registry, Optional.empty(),
+                true, 0.01, 2, 1000);
+    }
+
+    /**
+     * Verifica se o filtro não tem falsos negativos e se a taxa de falsos positivos fica próxima da configurada.
+     */
+    @Test
+    public void filtroNaoDeveTerFalsosNegativosEDeveRespeitarATaxaDeFalsosPositivos() {
+        FiltroBloomContador bloom = FiltroBloomContador.dimensionar(NOMES, 0.01);
+        IntStream.range(0, NOMES).forEach(i -> bloom.adicionar("planeta " + i));
+
+        for (int i = 0; i < NOMES; i++)
+            assertTrue(bloom.podeConter("planeta " + i));
+
+        long falsosPositivos = IntStream.range(0, NOMES).filter(i -> bloom.podeConter("ausente " + i)).count();
+        double taxa = (double) falsosPositivos / NOMES;
+        assertTrue(taxa < 0.02, "Taxa de falsos positivos: " + taxa);
+        assertEquals(0.01, bloom.taxaFalsoPositivoEstimada(), 0.005);
+    }
+
+    /**
+     * Verifica se um nome removido deixa de ser indicado pelo filtro, sem afetar os demais.
+     */
+    @Test
+    public void nomeRemovidoNaoDeveMaisSerIndicado() {
+        FiltroBloomContador bloom = FiltroBloomContador.dimensionar(1000, 0.001);
+        bloom.adicionar("tatooine");
+        bloom.adicionar("alderaan");
+        bloom.remover("tatooine");
+
+        assertFalse(bloom.podeConter("tatooine"));
+        assertTrue(bloom.podeConter("alderaan"));
+        assertEquals(1, bloom.getElementos());
+    }
+
+    /**
+     * Verifica se, antes da construção, todos os nomes são tratados como possivelmente existentes.
+     */
+    @Test
+    public void antesDaConstrucaoTodoNomeDevePoderExistir() {
+        assertTrue(filtro.podeExistir("Inexistente"));
+    }
+
+    /**
+     * Verifica se o filtro construído reconhece os nomes cadastrados e os criados depois, ignorando maiúsculas,
+     * e registra os nomes ausentes na métrica.
+     */
+    @Test
+    public void filtroConstruidoDeveAcompanharCriacoesERemocoes() {
+        when(repository.count()).thenReturn(2L);
+        when(repository.percorrerNomes()).thenReturn(Stream.of("Tatooine", "Alderaan"));
+        filtro.reconstruir();
+
+        filtro.adicionar("Hoth");
+        filtro.remover("Alderaan");
+
+        assertTrue(filtro.podeExistir("tatooine"));
+        assertTrue(filtro.podeExistir("Hoth"));
+        assertFalse(filtro.podeExistir("Alderaan"));
+        assertFalse(filtro.podeExistir("Dagobah"));
+        assertEquals(2, registry.get("planetas.filtro-nomes.consultas").tag("resultado", "ausente").counter().count());
+        assertEquals(2, registry.get("planetas.filtro-nomes.nomes").gauge().value());
+    }
+
+    /**
+     * Verifica se os nomes criados durante uma reconstrução entram no novo filtro.
+     */
+    @Test
+    public void nomeCriadoDuranteAReconstrucaoDeveEntrarNoNovoFiltro() {
+        when(repository.count()).thenReturn(1L);
+        when(repository.percorrerNomes()).thenAnswer(invocacao -> {
+            filtro.adicionar("Hoth");
+            return Stream.of("Tatooine");
+        });
+        filtro.reconstruir();
+
+        assertTrue(filtro.podeExistir("Hoth"));
+        assertTrue(filtro.podeExistir("Tatooine"));
+    }
+}
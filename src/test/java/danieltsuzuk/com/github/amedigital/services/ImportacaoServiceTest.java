@@ -0,0 +1,136 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import danieltsuzuk.com.github.amedigital.dto.ImportacaoResponse;
+import danieltsuzuk.com.github.amedigital.dto.ItemLoteResponse;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaLoteResponse;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaRequest;
+import danieltsuzuk.com.github.amedigital.exceptions.LoteInvalidoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para o serviço de importação.
+ * <p>
+ * O PlanetaService é simulado e registra os nomes de cada bloco recebido.
+ * </p>
+ */
+class ImportacaoServiceTest {
+
+    private static final MediaType NDJSON = MediaType.valueOf("application/x-ndjson");
+    private static final MediaType CSV = MediaType.valueOf("text/csv");
+
+    private PlanetaService planetaService;
+    private List<List<String>> blocos;
+    private ImportacaoService service;
+
+    @BeforeEach
+    public void configuracao() {
+        planetaService = mock(PlanetaService.class);
+        blocos = new ArrayList<>();
+        when(planetaService.criarEmLote(any())).thenAnswer(invocacao -> {
+            List<PlanetaRequest> bloco = invocacao.getArgument(0);
+            blocos.add(bloco.stream().map(PlanetaRequest::getNome).toList());
+            List<ItemLoteResponse> itens = new ArrayList<>();
+            for (int i = 0; i < bloco.size(); i++)
+                itens.add(ItemLoteResponse.criado(i, null));
+            return new PlanetaLoteResponse(itens);
+        });
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new ParameterNamesModule());
+        service = new ImportacaoService(planetaService, objectMapper, new SimpleMeterRegistry(), 2, 1000, 100);
+    }
+
+    /**
+     * Verifica se as linhas são criadas em blocos de tamanho fixo e se o checkpoint chega à última linha.
+     */
+    @Test
+    public void deveCriarOsPlanetasEmBlocosDeTamanhoFixo() {
+        ImportacaoResponse resumo = service.importar(ndjson("Tatooine", "Alderaan", "Hoth", "Dagobah", "Endor"), NDJSON, 0);
+
+        assertTrue(resumo.isConcluida());
+        assertEquals(5, resumo.getCriados());
+        assertEquals(5, resumo.getCheckpoint());
+        assertEquals(List.of(List.of("Tatooine", "Alderaan"), List.of("Hoth", "Dagobah"), List.of("Endor")), blocos);
+    }
+
+    /**
+     * Verifica se as linhas até o checkpoint informado são ignoradas.
+     */
+    @Test
+    public void deveRetomarAImportacaoAposOCheckpoint() {
+        ImportacaoResponse resumo = service.importar(ndjson("Tatooine", "Alderaan", "Hoth"), NDJSON, 2);
+
+        assertEquals(1, resumo.getLinhasLidas());
+        assertEquals(3, resumo.getCheckpoint());
+        assertEquals(List.of(List.of("Hoth")), blocos);
+    }
+
+    /**
+     * Verifica se as linhas malformadas são rejeitadas sem interromper a importação.
+     */
+    @Test
+    public void deveRejeitarLinhasMalformadasSemInterromperAImportacao() {
+        String csv = "terreno,nome,clima\ndeserto,Tatooine,arido\n\"aberto,Hoth,frio\nselva,\"Yavin, IV\",quente\n";
+
+        ImportacaoResponse resumo = service.importar(entrada(csv), CSV, 0);
+
+        assertTrue(resumo.isConcluida());
+        assertEquals(2, resumo.getCriados());
+        assertEquals(1, resumo.getFalhas());
+        assertEquals(3, resumo.getLinhasRejeitadas().get(0).getLinha());
+        assertEquals(List.of(List.of("Tatooine", "Yavin, IV")), blocos);
+    }
+
+    /**
+     * Verifica se, quando um bloco falha, o checkpoint aponta para o último bloco confirmado.
+     */
+    @Test
+    public void deveInformarOCheckpointDoUltimoBlocoConfirmadoQuandoAImportacaoFalhar() {
+        doReturn(new PlanetaLoteResponse(List.of(ItemLoteResponse.criado(0, null), ItemLoteResponse.criado(1, null))))
+                .doThrow(new IllegalStateException("banco indisponivel"))
+                .when(planetaService).criarEmLote(any());
+
+        ImportacaoResponse resumo = service.importar(ndjson("Tatooine", "Alderaan", "Hoth", "Dagobah", "Endor"), NDJSON, 0);
+
+        assertFalse(resumo.isConcluida());
+        assertEquals(2, resumo.getCriados());
+        assertEquals(2, resumo.getCheckpoint());
+    }
+
+    /**
+     * Verifica se um CSV sem as colunas obrigatórias é recusado.
+     */
+    @Test
+    public void deveRecusarCsvSemAsColunasObrigatorias() {
+        assertThrows(LoteInvalidoException.class, () -> service.importar(entrada("nome,clima\nHoth,frio\n"), CSV, 0));
+    }
+
+    private static InputStream ndjson(String... nomes) {
+        StringBuilder conteudo = new StringBuilder();
+        for (String nome : nomes)
+            conteudo.append("{\"nome\":\"").append(nome).append("\",\"clima\":\"arido\",\"terreno\":\"deserto\"}\n");
+        return entrada(conteudo.toString());
+    }
+
+    private static InputStream entrada(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
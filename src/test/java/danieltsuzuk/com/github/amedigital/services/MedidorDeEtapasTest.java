@@ -0,0 +1,56 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Testes unitários para a medição das etapas das operações com planetas.
+ */
+class MedidorDeEtapasTest {
+
+    private SimpleMeterRegistry registry;
+    private MedidorDeEtapas etapas;
+
+    @BeforeEach
+    public void configuracao() {
+        registry = new SimpleMeterRegistry();
+        ObservationRegistry observacoes = ObservationRegistry.create();
+        observacoes.observationConfig().observationHandler(new DefaultMeterObservationHandler(registry));
+        etapas = new MedidorDeEtapas(observacoes);
+    }
+
+    /**
+     * Verifica se cada etapa gera um timer com a operação e a etapa como tags, retornando o resultado da etapa.
+     */
+    @Test
+    public void etapaDeveSerRegistradaComOperacaoEEtapa() {
+        assertEquals("Tatooine", etapas.medir("buscarPorNome", "consulta", () -> "Tatooine"));
+        etapas.medir("buscarPorNome", "consulta", () -> "Alderaan");
+
+        Timer timer = registry.get(MedidorDeEtapas.METRICA)
+                .tags("operacao", "buscarPorNome", "etapa", "consulta", "error", "none")
+                .timer();
+        assertEquals(2, timer.count());
+    }
+
+    /**
+     * Verifica se a exceção lançada por uma etapa é propagada e registrada na tag error.
+     */
+    @Test
+    public void falhaNaEtapaDeveSerRegistradaComOTipoDoErro() {
+        assertThrows(IllegalStateException.class, () -> etapas.medir("criar", "insercao", () -> {
+            throw new IllegalStateException("falha");
+        }));
+
+        assertEquals(1, registry.get(MedidorDeEtapas.METRICA)
+                .tags("operacao", "criar", "etapa", "insercao", "error", "IllegalStateException")
+                .timer().count());
+    }
+}
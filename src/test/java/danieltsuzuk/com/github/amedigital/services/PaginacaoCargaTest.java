@@ -0,0 +1,81 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.PostgresContainerBase;
+import danieltsuzuk.com.github.amedigital.Utils.CursorPagina;
+import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga que compara a paginação por número de página com a paginação por cursor.
+ * <p>
+ * Mede a latência da página 1 e da página 10.000 nos dois modos. Na paginação por número de página o banco precisa
+ * percorrer e descartar todas as linhas anteriores e ainda contar a tabela, enquanto o cursor vai direto à posição
+ * pelo índice. Por demorar, só é executado com -Dbenchmark=true.
+ * </p>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PaginacaoCargaTest extends PostgresContainerBase {
+
+    private static final int TAMANHO_PAGINA = 20;
+    private static final int PAGINA_PROFUNDA = 10_000;
+    private static final int PLANETAS = (PAGINA_PROFUNDA + 10) * TAMANHO_PAGINA;
+    private static final int AQUECIMENTO = 20;
+    private static final int MEDICOES = 50;
+
+    @Autowired
+    private PlanetaService service;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Verifica se a página profunda por cursor custa o mesmo que a primeira, e menos que a página por OFFSET.
+     */
+    @Test
+    public void paginaProfundaPorCursorDeveSerMaisRapidaQuePorOffset() {
+        jdbcTemplate.update("insert into planetas (id, nome, clima, terreno, aparicoes) " +
+                "select nextval('planetas_id_seq'), 'Planeta ' || lpad(n::text, 7, '0'), 'temperado', 'montanhoso', n % 6 " +
+                "from generate_series(1, ?) n", PLANETAS);
+        jdbcTemplate.execute("analyze planetas");
+
+        Specification<Planeta> semFiltro = Specification.where(null);
+        Long idAntesDaPaginaProfunda = jdbcTemplate.queryForObject(
+                "select id from planetas order by id limit 1 offset ?", Long.class, PAGINA_PROFUNDA * TAMANHO_PAGINA - 1);
+        CursorPagina cursorProfundo = new CursorPagina(CursorPagina.Ordenacao.ID, String.valueOf(idAntesDaPaginaProfunda));
+
+        double offsetPrimeira = medianaEmMs(() -> service.buscarTodos(semFiltro, PageRequest.of(0, TAMANHO_PAGINA, Sort.by("id"))));
+        double offsetProfunda = medianaEmMs(() -> service.buscarTodos(semFiltro, PageRequest.of(PAGINA_PROFUNDA, TAMANHO_PAGINA, Sort.by("id"))));
+        double cursorPrimeira = medianaEmMs(() -> service.buscarPorCursor(semFiltro, CursorPagina.inicio(CursorPagina.Ordenacao.ID), TAMANHO_PAGINA));
+        double cursorProfunda = medianaEmMs(() -> service.buscarPorCursor(semFiltro, cursorProfundo, TAMANHO_PAGINA));
+
+        System.out.printf("OFFSET: pagina 1 %.2f ms, pagina %d %.2f ms%n", offsetPrimeira, PAGINA_PROFUNDA, offsetProfunda);
+        System.out.printf("Cursor: pagina 1 %.2f ms, pagina %d %.2f ms%n", cursorPrimeira, PAGINA_PROFUNDA, cursorProfunda);
+        assertTrue(cursorProfunda < offsetProfunda, "A pagina profunda por cursor deveria ser mais rapida que por OFFSET");
+    }
+
+    private static double medianaEmMs(Runnable consulta) {
+        for (int i = 0; i < AQUECIMENTO; i++)
+            consulta.run();
+
+        long[] tempos = new long[MEDICOES];
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            consulta.run();
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        return tempos[MEDICOES / 2] / 1e6;
+    }
+}
@@ -0,0 +1,82 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.PostgresContainerBase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga que compara as buscas por ID e por nome com e sem o cache de planetas.
+ * <p>
+ * Mede a latência mediana das buscas quando o planeta é removido do cache antes de cada busca, o que obriga a
+ * consulta ao banco, e quando o planeta já está no cache. Por demorar, só é executado com -Dbenchmark=true.
+ * </p>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PlanetaCacheCargaTest extends PostgresContainerBase {
+
+    private static final int PLANETAS = 100_000;
+    private static final int AQUECIMENTO = 200;
+    private static final int MEDICOES = 2_000;
+
+    @Autowired
+    private PlanetaService service;
+
+    @Autowired
+    private PlanetaCache cache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Verifica se as buscas atendidas pelo cache são mais rápidas que as que consultam o banco.
+     */
+    @Test
+    public void buscasPeloCacheDevemSerMaisRapidasQuePeloBanco() {
+        jdbcTemplate.update("insert into planetas (id, nome, clima, terreno, aparicoes) " +
+                "select nextval('planetas_id_seq'), 'Planeta ' || n, 'temperado', 'montanhoso', n % 6 " +
+                "from generate_series(1, ?) n", PLANETAS);
+        jdbcTemplate.execute("analyze planetas");
+        List<Long> ids = jdbcTemplate.queryForList("select id from planetas order by id limit ?", Long.class, MEDICOES);
+        List<String> nomes = jdbcTemplate.queryForList("select nome from planetas order by id limit ?", String.class, MEDICOES);
+
+        double idBanco = medianaEmMs(ids, id -> {
+            cache.invalidar(id, null);
+            service.buscarPorId(id);
+        });
+        double idCache = medianaEmMs(ids, service::buscarPorId);
+        double nomeBanco = medianaEmMs(nomes, nome -> {
+            cache.invalidar(null, nome);
+            service.buscarPorNome(nome);
+        });
+        double nomeCache = medianaEmMs(nomes, service::buscarPorNome);
+
+        System.out.printf("Por ID: banco %.3f ms, cache %.3f ms%n", idBanco, idCache);
+        System.out.printf("Por nome: banco %.3f ms, cache %.3f ms%n", nomeBanco, nomeCache);
+        assertTrue(idCache < idBanco, "A busca por ID no cache deveria ser mais rapida que no banco");
+        assertTrue(nomeCache < nomeBanco, "A busca por nome no cache deveria ser mais rapida que no banco");
+    }
+
+    private static <T> double medianaEmMs(List<T> chaves, Consumer<T> busca) {
+        for (int i = 0; i < AQUECIMENTO; i++)
+            busca.accept(chaves.get(i));
+
+        long[] tempos = new long[chaves.size()];
+        for (int i = 0; i < chaves.size(); i++) {
+            long inicio = System.nanoTime();
+            busca.accept(chaves.get(i));
+            tempos[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(tempos);
+        return tempos[tempos.length / 2] / 1e6;
+    }
+}
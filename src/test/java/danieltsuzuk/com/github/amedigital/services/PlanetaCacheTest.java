@@ -0,0 +1,203 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testes unitários para o cache de planetas.
+ * <p>
+ * O banco é simulado por um mapa, e as funções de carga contam quantas vezes o banco foi consultado. As instâncias
+ * da aplicação são simuladas por vários caches que compartilham o mesmo {@link ArmazemEmMemoria}.
+ * </p>
+ */
+class PlanetaCacheTest {
+
+    private Map<Long, Planeta> banco;
+    private AtomicInteger consultas;
+    private SimpleMeterRegistry registry;
+    private PlanetaCache cache;
+
+    @BeforeEach
+    public void configuracao() {
+        banco = new HashMap<>();
+        banco.put(1L, new Planeta(1L, "Tatooine", "arido", "deserto", 5));
+        consultas = new AtomicInteger();
+        registry = new SimpleMeterRegistry();
+        cache = new PlanetaCache(registry, new ObjectMapper(), Optional.empty(), true, 100, Duration.ofMinutes(10),
+                Duration.ofMinutes(10));
+    }
+
+    /**
+     * Verifica se a segunda busca pelo mesmo ID não consulta o banco e retorna uma cópia nova.
+     */
+    @Test
+    public void buscaRepetidaPorIdDeveUsarOCache() {
+        PlanetaResponse primeira = cache.buscarPorId(1L, this::buscarPorId).orElseThrow();
+        primeira.setNome("Alterado");
+        PlanetaResponse segunda = cache.buscarPorId(1L, this::buscarPorId).orElseThrow();
+
+        assertEquals(1, consultas.get());
+        assertNotSame(primeira, segunda);
+        assertEquals("Tatooine", segunda.getNome());
+        assertEquals(5, segunda.getAparicoes());
+    }
+
+    /**
+     * Verifica se planetas não encontrados não são guardados no cache.
+     */
+    @Test
+    public void planetaNaoEncontradoNaoDeveSerGuardado() {
+        assertTrue(cache.buscarPorId(2L, this::buscarPorId).isEmpty());
+        banco.put(2L, new Planeta(2L, "Alderaan", "temperado", "montanhoso", 2));
+
+        assertEquals("Alderaan", cache.buscarPorId(2L, this::buscarPorId).orElseThrow().getNome());
+        assertEquals(2, consultas.get());
+    }
+
+    /**
+     * Verifica se a invalidação pelo ID e pelo nome remove o planeta dos dois índices.
+     */
+    @Test
+    public void invalidarDeveRemoverOPlanetaDosDoisIndices() {
+        cache.buscarPorId(1L, this::buscarPorId);
+        cache.buscarPorNome("Tatooine", this::buscarPorNome);
+        banco.remove(1L);
+        cache.invalidar(1L, "Tatooine");
+
+        assertTrue(cache.buscarPorId(1L, this::buscarPorId).isEmpty());
+        assertTrue(cache.buscarPorNome("Tatooine", this::buscarPorNome).isEmpty());
+        assertEquals(4, consultas.get());
+    }
+
+    /**
+     * Verifica se nomes que só diferem em maiúsculas e minúsculas, permitidos pela constraint nome_unique, ficam em
+     * entradas separadas, e se a invalidação de um não remove o outro.
+     */
+    @Test
+    public void nomesQueSoDiferemEmMaiusculasDevemTerEntradasSeparadas() {
+        banco.put(2L, new Planeta(2L, "tatooine", "temperado", "montanhoso", 0));
+
+        assertEquals(1L, cache.buscarPorNome("Tatooine", this::buscarPorNome).orElseThrow().getId());
+        assertEquals(2L, cache.buscarPorNome("tatooine", this::buscarPorNome).orElseThrow().getId());
+        cache.invalidar(2L, "tatooine");
+
+        assertEquals(1L, cache.buscarPorNome("Tatooine", this::buscarPorNome).orElseThrow().getId());
+        assertEquals(2, consultas.get());
+    }
+
+    /**
+     * Verifica se os acertos e as falhas de cada índice são publicados como métricas.
+     */
+    @Test
+    public void deveRegistrarAcertosEFalhasDoCache() {
+        cache.buscarPorNome("Tatooine", this::buscarPorNome);
+        cache.buscarPorNome("Tatooine", this::buscarPorNome);
+        cache.buscarPorNome("Tatooine", this::buscarPorNome);
+
+        assertEquals(2, registry.get("cache.gets").tags("cache", "planetas.por-nome", "result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tags("cache", "planetas.por-nome", "result", "miss").functionCounter().count());
+    }
+
+    /**
+     * Verifica se, com o cache desabilitado, toda busca consulta o banco.
+     */
+    @Test
+    public void cacheDesabilitadoDeveSempreConsultarOBanco() {
+        cache = new PlanetaCache(registry, new ObjectMapper(), Optional.empty(), false, 100, Duration.ofMinutes(10),
+                Duration.ofMinutes(10));
+
+        cache.buscarPorId(1L, this::buscarPorId);
+        cache.buscarPorId(1L, this::buscarPorId);
+
+        assertEquals(2, consultas.get());
+    }
+
+    /**
+     * Verifica se um planeta carregado por uma instância é lido do cache compartilhado pela outra, sem consultar o
+     * banco.
+     */
+    @Test
+    public void outraInstanciaDeveLerOPlanetaDoCacheCompartilhado() {
+        ArmazemEmMemoria armazem = new ArmazemEmMemoria();
+        PlanetaCache no1 = instancia(armazem);
+        PlanetaCache no2 = instancia(armazem);
+
+        no1.buscarPorId(1L, this::buscarPorId);
+        PlanetaResponse planeta = no2.buscarPorId(1L, this::buscarPorId).orElseThrow();
+
+        assertEquals(1, consultas.get());
+        assertEquals("Tatooine", planeta.getNome());
+        assertEquals(1, registry.get("planetas.cache.compartilhado").tag("resultado", "acerto").counter().count());
+        assertEquals(1, registry.get("planetas.cache.compartilhado").tag("resultado", "falha").counter().count());
+    }
+
+    /**
+     * Verifica se a remoção em uma instância invalida o planeta, pelo ID e pelo nome, no cache local da outra.
+     */
+    @Test
+    public void remocaoEmUmaInstanciaDeveInvalidarOCacheLocalDaOutra() {
+        ArmazemEmMemoria armazem = new ArmazemEmMemoria();
+        PlanetaCache no1 = instancia(armazem);
+        PlanetaCache no2 = instancia(armazem);
+        no2.buscarPorId(1L, this::buscarPorId);
+        no2.buscarPorNome("Tatooine", this::buscarPorNome);
+
+        banco.remove(1L);
+        no1.invalidar(1L, "Tatooine");
+
+        assertTrue(no2.buscarPorId(1L, this::buscarPorId).isEmpty());
+        assertTrue(no2.buscarPorNome("Tatooine", this::buscarPorNome).isEmpty());
+        assertEquals(1, registry.get("planetas.cache.invalidacao.atraso").timer().count());
+    }
+
+    /**
+     * Verifica se as buscas seguem pelo banco quando o cache compartilhado está indisponível.
+     */
+    @Test
+    public void falhaNoCacheCompartilhadoDeveSeguirPeloBanco() {
+        ArmazemEmMemoria indisponivel = new ArmazemEmMemoria() {
+            @Override
+            public String buscar(String chave) {
+                throw new IllegalStateException("conexao recusada");
+            }
+
+            @Override
+            public void gravar(String chave, String valor, Duration ttl) {
+                throw new IllegalStateException("conexao recusada");
+            }
+        };
+
+        assertEquals("Tatooine", instancia(indisponivel).buscarPorId(1L, this::buscarPorId).orElseThrow().getNome());
+        assertEquals(2, registry.get("planetas.cache.compartilhado").tag("resultado", "erro").counter().count());
+    }
+
+    private PlanetaCache instancia(ArmazemCompartilhado armazem) {
+        return new PlanetaCache(registry, new ObjectMapper(), Optional.of(armazem), true, 100, Duration.ofMinutes(10),
+                Duration.ofMinutes(10));
+    }
+
+    private Optional<PlanetaResponse> buscarPorId(Long id) {
+        consultas.incrementAndGet();
+        return Optional.ofNullable(banco.get(id)).map(PlanetaResponse::new);
+    }
+
+    private Optional<PlanetaResponse> buscarPorNome(String nome) {
+        consultas.incrementAndGet();
+        return banco.values().stream().filter(planeta -> planeta.getNome().equals(nome)).findFirst()
+                .map(PlanetaResponse::new);
+    }
+}
@@ -0,0 +1,123 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.dto.PlanetaRequest;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.entities.PlanetaReativo;
+import danieltsuzuk.com.github.amedigital.exceptions.BancoDeDadosException;
+import danieltsuzuk.com.github.amedigital.exceptions.PlanetaNaoEncontradoException;
+import danieltsuzuk.com.github.amedigital.repositories.PlanetaReativoRepository;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para o serviço de planetas da pilha reativa.
+ */
+class PlanetaReativoServiceTest {
+
+    private PlanetaReativoRepository repository;
+    private PlanetaReativoService service;
+    private final PlanetaRequest request = new PlanetaRequest("Tatooine", "seco", "deserto");
+
+    @BeforeEach
+    public void configuracao() {
+        repository = mock(PlanetaReativoRepository.class);
+        AparicoesService aparicoesService = mock(AparicoesService.class);
+        when(aparicoesService.buscarAparicoes(anyString())).thenReturn(Mono.just(5));
+        service = new PlanetaReativoService();
+        ReflectionTestUtils.setField(service, "repository", repository);
+        ReflectionTestUtils.setField(service, "aparicoesService", aparicoesService);
+    }
+
+    /**
+     * Verifica se a busca e a remoção de um planeta inexistente informam a mesma mensagem da pilha servlet.
+     */
+    @Test
+    public void planetaInexistenteDeveInformarQueNaoFoiEncontrado() {
+        when(repository.findById(99L)).thenReturn(Mono.empty());
+        when(repository.existsById(99L)).thenReturn(Mono.just(false));
+
+        PlanetaNaoEncontradoException busca = assertThrows(PlanetaNaoEncontradoException.class,
+                () -> service.buscarPorId(99L).block());
+        PlanetaNaoEncontradoException remocao = assertThrows(PlanetaNaoEncontradoException.class,
+                () -> service.deletar(99L).block());
+
+        assertEquals(List.of("Planeta nao encontrado"), busca.getErros());
+        assertEquals(List.of("Planeta nao encontrado"), remocao.getErros());
+    }
+
+    /**
+     * Verifica se a violação da constraint de nome único é informada como planeta já cadastrado.
+     */
+    @Test
+    public void nomeRepetidoDeveInformarQueJaFoiCadastrado() {
+        when(repository.save(any(PlanetaReativo.class))).thenReturn(Mono.error(new DataIntegrityViolationException(
+                "duplicate key", new R2dbcDataIntegrityViolationException(
+                        "duplicate key value violates unique constraint \"nome_unique\"", "23505"))));
+
+        BancoDeDadosException erro = assertThrows(BancoDeDadosException.class, () -> service.criar(request).block());
+
+        assertEquals(List.of("Planeta ja cadastrado"), erro.getErros());
+    }
+
+    /**
+     * Verifica se as demais violações de integridade são propagadas, como na pilha servlet.
+     */
+    @Test
+    public void outraViolacaoDeIntegridadeDeveSerPropagada() {
+        DataIntegrityViolationException violacao = new DataIntegrityViolationException("not-null", new
+                R2dbcDataIntegrityViolationException("null value in column \"clima\" violates not-null constraint", "23502"));
+        when(repository.save(any(PlanetaReativo.class))).thenReturn(Mono.error(violacao));
+
+        DataIntegrityViolationException erro = assertThrows(DataIntegrityViolationException.class,
+                () -> service.criar(request).block());
+
+        assertSame(violacao, erro);
+    }
+
+    /**
+     * Verifica se a listagem por nome usa o padrão normalizado e com os caracteres do LIKE escapados, como a pilha
+     * servlet.
+     */
+    @Test
+    public void listagemPorNomeDeveUsarOPadraoDaPilhaServlet() {
+        Pageable pageable = PageRequest.of(0, 10);
+        when(repository.buscarPorPadraoDoNome("%tat\\_oo%", pageable))
+                .thenReturn(Flux.just(new PlanetaReativo(1L, "Tat_ooine", "seco", "deserto", 5)));
+        when(repository.contarPorPadraoDoNome("%tat\\_oo%")).thenReturn(Mono.just(1L));
+
+        Page<PlanetaResponse> pagina = service.buscarTodos(null, " TaT_oo ", pageable).block();
+
+        assertEquals(1, pagina.getTotalElements());
+        assertEquals("Tat_ooine", pagina.getContent().get(0).getNome());
+    }
+
+    /**
+     * Verifica se o filtro por ID e nome não diferencia maiúsculas e minúsculas.
+     */
+    @Test
+    public void filtroPorIdENomeNaoDeveDiferenciarMaiusculas() {
+        when(repository.findById(1L)).thenReturn(Mono.just(new PlanetaReativo(1L, "Tatooine", "seco", "deserto", 5)));
+
+        Page<PlanetaResponse> pagina = service.buscarTodos(1L, "TOOI", PageRequest.of(0, 10)).block();
+
+        assertEquals(1, pagina.getContent().size());
+    }
+}
@@ -0,0 +1,85 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import danieltsuzuk.com.github.amedigital.PostgresContainerBase;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Teste de carga para a criação de planetas com a API do Star Wars lenta.
+ * <p>
+ * Dispara muito mais criações simultâneas do que o tamanho do pool de conexões e verifica que, como a consulta
+ * externa acontece fora da transação, o pool nunca fica esgotado e nenhuma thread precisa esperar por conexão.
+ * </p>
+ */
+@SpringBootTest
+class PlanetaServiceCargaTest extends PostgresContainerBase {
+
+    private static final int CRIACOES_SIMULTANEAS = 60;
+
+    @Autowired
+    private PlanetaService service;
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @MockBean
+    private AparicoesService aparicoesService;
+
+    /**
+     * Verifica se a ocupação do pool permanece baixa enquanto as consultas à API externa estão pendentes.
+     *
+     * @throws Exception se ocorrer algum erro durante o teste
+     */
+    @Test
+    public void ocupacaoDoPoolDevePermanecerEstavelComApiLenta() throws Exception {
+        when(aparicoesService.buscarAparicoes(any())).thenAnswer(invocacao ->
+                Mono.delay(Duration.ofMillis(ThreadLocalRandom.current().nextInt(300, 900))).thenReturn(3));
+
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        AtomicInteger maiorOcupacao = new AtomicInteger();
+        AtomicInteger maiorEspera = new AtomicInteger();
+        ScheduledExecutorService amostrador = Executors.newSingleThreadScheduledExecutor();
+        amostrador.scheduleAtFixedRate(() -> {
+            maiorOcupacao.accumulateAndGet(pool.getActiveConnections(), Math::max);
+            maiorEspera.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+        }, 0, 2, TimeUnit.MILLISECONDS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CRIACOES_SIMULTANEAS);
+        List<Future<?>> criacoes = new ArrayList<>();
+        for (int i = 0; i < CRIACOES_SIMULTANEAS; i++) {
+            PlanetaRequest request = new PlanetaRequest("Planeta carga " + i, "temperado", "montanhoso");
+            criacoes.add(executor.submit(() -> service.criar(request)));
+        }
+        for (Future<?> criacao : criacoes)
+            criacao.get(30, TimeUnit.SECONDS);
+
+        executor.shutdown();
+        amostrador.shutdown();
+
+        assertEquals(0, maiorEspera.get());
+        assertTrue(maiorOcupacao.get() < dataSource.getMaximumPoolSize(),
+                "Ocupacao maxima do pool: " + maiorOcupacao.get());
+    }
+}
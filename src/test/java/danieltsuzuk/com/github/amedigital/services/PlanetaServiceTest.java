@@ -0,0 +1,46 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.exceptions.PlanetaNaoEncontradoException;
+import danieltsuzuk.com.github.amedigital.repositories.PlanetaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes de integração para as exceções lançadas pelo serviço de planetas.
+ * <p>
+ * O repositório é simulado, para que as mensagens verificadas sejam as das exceções que o próprio serviço lança.
+ * </p>
+ */
+@SpringBootTest
+class PlanetaServiceTest {
+
+    @Autowired
+    private PlanetaService service;
+
+    @MockBean
+    private PlanetaRepository repository;
+
+    /**
+     * Verifica se a busca e a remoção de um planeta inexistente informam a mesma mensagem, escrita corretamente.
+     */
+    @Test
+    public void planetaInexistenteDeveInformarQueNaoFoiEncontrado() {
+        when(repository.projetarPorId(99L)).thenReturn(Optional.empty());
+        when(repository.findById(99L)).thenReturn(Optional.empty());
+
+        PlanetaNaoEncontradoException busca = assertThrows(PlanetaNaoEncontradoException.class, () -> service.buscarPorId(99L));
+        PlanetaNaoEncontradoException remocao = assertThrows(PlanetaNaoEncontradoException.class, () -> service.deletar(99L));
+
+        assertEquals(List.of("Planeta nao encontrado"), busca.getErros());
+        assertEquals(List.of("Planeta nao encontrado"), remocao.getErros());
+    }
+}
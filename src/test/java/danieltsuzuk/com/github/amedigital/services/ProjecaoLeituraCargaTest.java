@@ -0,0 +1,104 @@
+package danieltsuzuk.com.github.amedigital.services;
+
+import danieltsuzuk.com.github.amedigital.PostgresContainerBase;
+import danieltsuzuk.com.github.amedigital.dto.PlanetaResponse;
+import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import danieltsuzuk.com.github.amedigital.repositories.PlanetaRepository;
+import danieltsuzuk.com.github.amedigital.specifications.PlanetaSpecification;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Teste de carga que compara a memória alocada pelas leituras com entidades e pelas leituras com projeção.
+ * <p>
+ * O caminho com entidades é o usado antes da projeção: a entidade é carregada no contexto de persistência e copiada
+ * para o PlanetaResponse. A alocação de cada busca é medida pelo total de bytes alocados pela thread, e as buscas
+ * são gravadas com o JFR em target/projecao-leitura.jfr, para a análise das classes alocadas com
+ * {@code jfr print --events jdk.ObjectAllocationSample}. A busca por ID é só informada, já que os dois caminhos
+ * usam a carga pela chave primária. Por demorar, só é executado com -Dbenchmark=true.
+ * </p>
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ProjecaoLeituraCargaTest extends PostgresContainerBase {
+
+    private static final int PLANETAS = 10_000;
+    private static final int AQUECIMENTO = 500;
+    private static final int MEDICOES = 2_000;
+    private static final Pageable PAGINA = PageRequest.of(3, 100, Sort.by("nome"));
+
+    @Autowired
+    private PlanetaRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Verifica se a busca por nome e a listagem paginada com projeção alocam menos memória que com entidades, e se
+     * retornam os mesmos dados.
+     */
+    @Test
+    public void leiturasComProjecaoDevemAlocarMenosQueComEntidades() throws IOException {
+        jdbcTemplate.update("insert into planetas (id, nome, clima, terreno, aparicoes) " +
+                "select nextval('planetas_id_seq'), 'Planeta ' || lpad(n::text, 5, '0'), 'temperado', 'montanhoso', n % 6 " +
+                "from generate_series(1, ?) n", PLANETAS);
+        jdbcTemplate.execute("analyze planetas");
+        Long id = jdbcTemplate.queryForObject("select min(id) from planetas", Long.class);
+        String nome = "Planeta 00007";
+        Specification<Planeta> spec = Specification.where(PlanetaSpecification.buscarNome("planeta",
+                PlanetaSpecification.ModoBusca.PREFIXO));
+
+        assertEquals(repository.findById(id).map(PlanetaResponse::new), repository.projetarPorId(id));
+        assertEquals(repository.findByNome(nome).map(PlanetaResponse::new), repository.projetarPorNome(nome));
+        assertEquals(repository.findAll(spec, PAGINA).map(PlanetaResponse::new).getContent(),
+                repository.projetar(spec, PAGINA).getContent());
+
+        try (Recording gravacao = new Recording()) {
+            gravacao.enable("jdk.ObjectAllocationSample");
+            gravacao.start();
+
+            double idEntidade = bytesPorBusca(() -> repository.findById(id).map(PlanetaResponse::new));
+            double idProjecao = bytesPorBusca(() -> repository.projetarPorId(id));
+            double nomeEntidade = bytesPorBusca(() -> repository.findByNome(nome).map(PlanetaResponse::new));
+            double nomeProjecao = bytesPorBusca(() -> repository.projetarPorNome(nome));
+            double paginaEntidade = bytesPorBusca(() -> repository.findAll(spec, PAGINA).map(PlanetaResponse::new));
+            double paginaProjecao = bytesPorBusca(() -> repository.projetar(spec, PAGINA));
+
+            gravacao.stop();
+            gravacao.dump(Path.of("target", "projecao-leitura.jfr"));
+
+            System.out.printf("Busca por ID: entidade %.0f bytes, projecao %.0f bytes%n", idEntidade, idProjecao);
+            System.out.printf("Busca por nome: entidade %.0f bytes, projecao %.0f bytes%n", nomeEntidade, nomeProjecao);
+            System.out.printf("Pagina de %d: entidade %.0f bytes, projecao %.0f bytes%n", PAGINA.getPageSize(),
+                    paginaEntidade, paginaProjecao);
+            assertTrue(nomeProjecao < nomeEntidade, "A busca por nome com projecao deveria alocar menos");
+            assertTrue(paginaProjecao < paginaEntidade, "A listagem com projecao deveria alocar menos");
+        }
+    }
+
+    private static double bytesPorBusca(Runnable busca) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < AQUECIMENTO; i++)
+            busca.run();
+
+        long inicio = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEDICOES; i++)
+            busca.run();
+        return (double) (threads.getCurrentThreadAllocatedBytes() - inicio) / MEDICOES;
+    }
+}
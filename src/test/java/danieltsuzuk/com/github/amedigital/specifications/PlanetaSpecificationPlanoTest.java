@@ -0,0 +1,142 @@
+package danieltsuzuk.com.github.amedigital.specifications;
+
+import danieltsuzuk.com.github.amedigital.PostgresContainerBase;
+import danieltsuzuk.com.github.amedigital.entities.Planeta;
+import danieltsuzuk.com.github.amedigital.repositories.PlanetaRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Testes de integração que verificam o plano de execução das buscas por nome no PostgreSQL.
+ * <p>
+ * O SQL gerado pelo Hibernate para cada especificação é capturado e executado com EXPLAIN, com o padrão do LIKE
+ * no lugar do parâmetro, para comparar o plano
+ * da busca antiga, um LIKE sensível a maiúsculas sobre a coluna nome, com o das buscas que usam os índices criados
+ * na migração V6.
+ * </p>
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "danieltsuzuk.com.github.amedigital.specifications.PlanetaSpecificationPlanoTest$SqlCapturado")
+class PlanetaSpecificationPlanoTest extends PostgresContainerBase {
+
+    private static final int PLANETAS = 50_000;
+
+    @Autowired
+    private PlanetaRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void configuracao() {
+        if (repository.count() > 0)
+            return;
+        jdbcTemplate.update("insert into planetas (id, nome, clima, terreno, aparicoes) " +
+                "select nextval('planetas_id_seq'), 'Planeta ' || lpad(n::text, 6, '0'), 'temperado', 'montanhoso', 0 " +
+                "from generate_series(1, ?) n", PLANETAS);
+        jdbcTemplate.update("insert into planetas (id, nome, clima, terreno, aparicoes) " +
+                "values (nextval('planetas_id_seq'), 'Cem_Por%cento', 'arido', 'deserto', 0)");
+        jdbcTemplate.execute("analyze planetas");
+    }
+
+    /**
+     * Verifica se a busca antiga, sem lower(nome), lê a tabela inteira.
+     */
+    @Test
+    public void buscaSensivelAMaiusculasDeveLerATabelaInteira() {
+        Specification<Planeta> antiga = (root, query, builder) -> builder.like(root.get("nome"), "%eta 01234%");
+
+        assertTrue(planoDe(antiga, "%eta 01234%").contains("Seq Scan"));
+    }
+
+    /**
+     * Verifica se a busca por trecho usa o índice de trigramas e ignora maiúsculas.
+     */
+    @Test
+    public void buscaPorTrechoDeveUsarOIndiceDeTrigramas() {
+        Specification<Planeta> spec = PlanetaSpecification.buscarNome("ETA 01234", PlanetaSpecification.ModoBusca.CONTEM);
+
+        String plano = planoDe(spec, "%eta 01234%");
+        assertTrue(plano.contains("planetas_nome_trigrama_idx"), plano);
+        assertFalse(plano.contains("Seq Scan"), plano);
+        assertEquals(10, repository.findAll(spec).size());
+    }
+
+    /**
+     * Verifica se a busca por prefixo usa um índice, normalmente o text_pattern_ops, em vez de ler a tabela inteira.
+     */
+    @Test
+    public void buscaPorPrefixoDeveUsarOIndiceDePrefixo() {
+        Specification<Planeta> spec = PlanetaSpecification.buscarNome("planeta 0123", PlanetaSpecification.ModoBusca.PREFIXO);
+
+        String plano = planoDe(spec, "planeta 0123%");
+        assertTrue(plano.contains("planetas_nome_prefixo_idx") || plano.contains("planetas_nome_trigrama_idx"), plano);
+        assertFalse(plano.contains("Seq Scan"), plano);
+        assertEquals(100, repository.findAll(spec).size());
+    }
+
+    /**
+     * Verifica se, sem o parâmetro busca, termos curtos demais para trigramas continuam sendo buscados por trecho.
+     */
+    @Test
+    public void buscaPadraoComTermoCurtoDeveBuscarPorTrecho() {
+        Specification<Planeta> spec = PlanetaSpecification.buscarNome("TO", PlanetaSpecification.ModoBusca.porNome(null));
+
+        planoDe(spec, "%to%");
+        List<Planeta> planetas = repository.findAll(spec);
+        assertEquals(1, planetas.size());
+        assertEquals("Cem_Por%cento", planetas.get(0).getNome());
+    }
+
+    /**
+     * Verifica se os caracteres especiais do LIKE no termo são tratados como texto.
+     */
+    @Test
+    public void buscaDeveEscaparOsCaracteresEspeciaisDoLike() {
+        List<Planeta> planetas = repository.findAll(PlanetaSpecification.likeNome("_por%"));
+
+        assertEquals(1, planetas.size());
+        assertEquals("Cem_Por%cento", planetas.get(0).getNome());
+    }
+
+    /**
+     * Executa a especificação, captura o SQL gerado e retorna o seu plano de execução com o padrão informado.
+     *
+     * @param spec   a especificação a ser analisada
+     * @param padrao o padrão do LIKE esperado para a especificação
+     * @return o plano de execução, uma linha por nó
+     */
+    private String planoDe(Specification<Planeta> spec, String padrao) {
+        repository.findAll(spec);
+        String sql = SqlCapturado.ultimo.replace("?", "'" + padrao + "'");
+        String plano = String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class));
+        System.out.println(sql + "\n" + plano);
+        return plano;
+    }
+
+    /**
+     * Inspetor de SQL do Hibernate que guarda a última consulta à tabela planetas.
+     */
+    public static class SqlCapturado implements StatementInspector {
+
+        static volatile String ultimo;
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.startsWith("select") && sql.contains("from planetas") && sql.contains(" like "))
+                ultimo = sql;
+            return sql;
+        }
+    }
+}